@@ -0,0 +1,132 @@
+package com.example.quarkus.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the packaged application ({@code ../target/quarkus-app/quarkus-run.jar} unless {@code -Dapp.jar} says otherwise,
+ * or the native executable given by {@code -Dapp.runner}) in its own process on a free port, so benchmarks measure
+ * the real HTTP, JPA and H2 stack.
+ */
+public final class ApplicationProcess implements AutoCloseable {
+
+    public static final String APP_JAR = System.getProperty("app.jar", "../target/quarkus-app/quarkus-run.jar");
+    public static final String APP_RUNNER = System.getProperty("app.runner");
+    public static final String JDBC_URL = "jdbc:h2:mem:books;DB_CLOSE_DELAY=-1";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private final Process process;
+    private final URI baseUri;
+    private long startupNanos;
+
+    private ApplicationProcess(final Process process, final URI baseUri) {
+        this.process = process;
+        this.baseUri = baseUri;
+    }
+
+    public static ApplicationProcess start(final Map<String, String> properties) throws IOException, InterruptedException {
+        final long start = System.nanoTime();
+        final int port = freePort();
+        final Map<String, String> systemProperties = new LinkedHashMap<>();
+        systemProperties.put("quarkus.http.port", String.valueOf(port));
+        systemProperties.put("quarkus.datasource.jdbc.url", JDBC_URL);
+        systemProperties.putAll(properties);
+
+        final List<String> command = new ArrayList<>();
+        if (APP_RUNNER != null) {
+            command.add(new File(APP_RUNNER).getAbsolutePath());
+            systemProperties.forEach((key, value) -> command.add("-D" + key + "=" + value));
+        } else {
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            systemProperties.forEach((key, value) -> command.add("-D" + key + "=" + value));
+            command.add("-jar");
+            command.add(new File(APP_JAR).getAbsolutePath());
+        }
+
+        final Path log = Files.createTempFile("quarkus-st-" + port + "-", ".log");
+        final Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        final ApplicationProcess application = new ApplicationProcess(process, URI.create("http://localhost:" + port));
+        application.awaitReady(log);
+        application.startupNanos = System.nanoTime() - start;
+        return application;
+    }
+
+    public URI uri(final String path) {
+        return baseUri.resolve(path);
+    }
+
+    public long pid() {
+        return process.pid();
+    }
+
+    /**
+     * Time from launching the process to the first successful {@code GET /books}.
+     */
+    public Duration startupTime() {
+        return Duration.ofNanos(startupNanos);
+    }
+
+    /**
+     * Resident set size of the application process in KiB, read from {@code /proc} (Linux only).
+     */
+    public long residentSetKb() throws IOException {
+        for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid()), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        throw new IllegalStateException("No VmRSS for process " + pid());
+    }
+
+    private void awaitReady(final Path log) throws InterruptedException {
+        final HttpClient client = HttpClient.newHttpClient();
+        final HttpRequest probe = HttpRequest.newBuilder(uri("/books?limit=1")).GET().build();
+        final long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+        close();
+        throw new IllegalStateException("Application did not start within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
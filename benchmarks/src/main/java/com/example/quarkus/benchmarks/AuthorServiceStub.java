@@ -0,0 +1,101 @@
+package com.example.quarkus.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the remote author service that answers {@code GET /v1/authors} and
+ * {@code GET /v1/authors?names=...} after a configurable delay.
+ */
+public final class AuthorServiceStub implements AutoCloseable {
+
+    private static final String[] NAMES = {
+        "Willian", "João", "Gilson", "Inês", "Ana", "Patricia", "Carolina", "Pedro", "Diogo", "Rui", "David", "Dario", "Filipe"
+    };
+
+    public static final String AUTHORS_JSON = toJson(Arrays.asList(NAMES));
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private AuthorServiceStub(final HttpServer server, final ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static AuthorServiceStub start(final long latencyMillis) throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/authors", exchange -> {
+            try {
+                if (latencyMillis > 0) {
+                    Thread.sleep(latencyMillis);
+                }
+                final byte[] body = toJson(requestedNames(exchange.getRequestURI().getRawQuery())).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        return new AuthorServiceStub(server, executor);
+    }
+
+    // Without ?names= the whole list is returned, like the real GET /v1/authors.
+    private static List<String> requestedNames(final String query) {
+        if (query == null) {
+            return Arrays.asList(NAMES);
+        }
+        final List<String> names = new ArrayList<>();
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith("names=")) {
+                names.add(URLDecoder.decode(parameter.substring("names=".length()), StandardCharsets.UTF_8));
+            }
+        }
+        return names;
+    }
+
+    private static String toJson(final List<String> names) {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < NAMES.length; i++) {
+            if (names.contains(NAMES[i])) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append("{\"id\":").append(i + 1).append(",\"name\":\"").append(NAMES[i]).append("\"}");
+            }
+        }
+        return json.append(']').toString();
+    }
+
+    public static List<String> names() {
+        return Arrays.asList(NAMES);
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/v1";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.quarkus.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JMH entry point that writes results as JSON to {@code target/jmh-result.json} unless {@code -rf}/{@code -rff} say otherwise,
+ * so runs can be compared with {@link CompareResults}.
+ */
+public final class Benchmarks {
+
+    public static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    private Benchmarks() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.add("-rff");
+            arguments.add(DEFAULT_RESULT);
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
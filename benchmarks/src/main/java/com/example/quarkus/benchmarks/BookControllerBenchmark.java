@@ -0,0 +1,128 @@
+package com.example.quarkus.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Latency of the BookController operations behind {@code /books}, against H2 and a local author service
+ * stub that answers after {@code authorLatencyMillis}, with reads from Hibernate or from the read model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookControllerBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final String BOOK_JSON = "{\"title\":\"benchmark\",\"author\":\"Gilson\"}";
+
+    @Param({"0", "50"})
+    long authorLatencyMillis;
+
+    @Param({"1000"})
+    int books;
+
+    @Param({"false", "true"})
+    boolean readModel;
+
+    private AuthorServiceStub authorService;
+    private ApplicationProcess application;
+    private HttpClient client;
+    private long[] ids;
+    private HttpRequest create;
+    private HttpRequest findAll;
+
+    @Setup
+    public void start() throws IOException, InterruptedException {
+        authorService = AuthorServiceStub.start(authorLatencyMillis);
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("quarkus.rest-client.\"com.example.quarkus.author.boundary.AuthorService\".url", authorService.url());
+        properties.put("book.read-model.enabled", String.valueOf(readModel));
+        application = ApplicationProcess.start(properties);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        create = HttpRequest.newBuilder(application.uri("/books"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(BOOK_JSON))
+                .build();
+        findAll = HttpRequest.newBuilder(application.uri("/books?limit=100")).GET().build();
+
+        final StringJoiner seed = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < books; i++) {
+            seed.add(BOOK_JSON);
+        }
+        final Matcher seeded = ID.matcher(send(HttpRequest.newBuilder(application.uri("/books/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(seed.toString()))
+                .build()));
+        ids = seeded.results().mapToLong(it -> Long.parseLong(it.group(1))).toArray();
+        if (ids.length != books) {
+            throw new IllegalStateException("Seeded " + ids.length + " of " + books + " books");
+        }
+    }
+
+    @TearDown
+    public void stop() throws InterruptedException {
+        application.close();
+        authorService.close();
+    }
+
+    @Benchmark
+    public String create() throws IOException, InterruptedException {
+        return send(create);
+    }
+
+    @Benchmark
+    public String findById() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(application.uri("/books/" + seededId())).GET().build());
+    }
+
+    @Benchmark
+    public String findAll() throws IOException, InterruptedException {
+        return send(findAll);
+    }
+
+    @Benchmark
+    public String update() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(application.uri("/books/" + seededId()))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"title\":\"benchmark updated\",\"author\":\"Ana\"}"))
+                .build());
+    }
+
+    private long seededId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private String send(final HttpRequest request) throws IOException, InterruptedException {
+        final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+}
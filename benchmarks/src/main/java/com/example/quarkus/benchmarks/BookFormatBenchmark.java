@@ -0,0 +1,102 @@
+package com.example.quarkus.benchmarks;
+
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writing a page of books in each response format {@code BookResource} negotiates, with and without gzip, into a
+ * stream that only counts bytes. The score is ns/op; bytes/op are printed by the setup of every combination.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    @Param({"false", "true"})
+    boolean gzip;
+
+    @Param({"100", "1000"})
+    int pageSize;
+
+    private ObjectWriter pageWriter;
+    private List<Book> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        final JsonFactory factory = "smile".equals(format) ? new SmileFactory()
+                : "cbor".equals(format) ? new CBORFactory()
+                : new JsonFactory();
+        pageWriter = new ObjectMapper(factory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET))
+                .writerFor(new TypeReference<List<Book>>() { });
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            final Book item = new Book();
+            item.setId(1_000_000L + i);
+            item.setVersion(0L);
+            item.setAuthorId(3L);
+            item.setTitle("Como apertar botões " + i);
+            item.setAuthor("João");
+            page.add(item);
+        }
+        System.out.printf("%n%s gzip=%s pageSize=%d: %d bytes/op%n", format, gzip, pageSize, writePage());
+    }
+
+    @Benchmark
+    public long writePage() throws IOException {
+        final CountingOutputStream counter = new CountingOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream compressed = new GZIPOutputStream(counter, 8192)) {
+                pageWriter.writeValue(compressed, page);
+            }
+        } else {
+            pageWriter.writeValue(counter, page);
+        }
+        return counter.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.quarkus.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts per second for each book id strategy: {@code sequence} fetches a sequence value per row,
+ * {@code pooled} one per 50 rows, {@code snowflake} none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookInsertBenchmark {
+
+    public static final int BATCH_SIZE = 100;
+    private static final String BOOK_JSON = "{\"title\":\"benchmark\",\"author\":\"Gilson\"}";
+
+    @Param({"sequence", "pooled", "snowflake"})
+    String idStrategy;
+
+    private ApplicationProcess application;
+    private HttpClient client;
+    private HttpRequest createOne;
+    private HttpRequest createBatch;
+
+    @Setup
+    public void start() throws IOException, InterruptedException {
+        application = ApplicationProcess.start(idProperties(idStrategy));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        createOne = HttpRequest.newBuilder(application.uri("/books"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(BOOK_JSON))
+                .build();
+
+        final StringJoiner batch = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(BOOK_JSON);
+        }
+        createBatch = HttpRequest.newBuilder(application.uri("/books/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(batch.toString()))
+                .build();
+    }
+
+    @TearDown
+    public void stop() throws InterruptedException {
+        application.close();
+    }
+
+    @Benchmark
+    public int createOne() throws IOException, InterruptedException {
+        return send(createOne);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int createBatch() throws IOException, InterruptedException {
+        return send(createBatch);
+    }
+
+    private int send(final HttpRequest request) throws IOException, InterruptedException {
+        final HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    static Map<String, String> idProperties(final String idStrategy) {
+        final Map<String, String> properties = new HashMap<>();
+        switch (idStrategy) {
+            case "sequence":
+                properties.put("book.id.strategy", "sequence");
+                properties.put("book.id.allocation-size", "1");
+                break;
+            case "pooled":
+                properties.put("book.id.strategy", "sequence");
+                properties.put("book.id.allocation-size", "50");
+                break;
+            case "snowflake":
+                properties.put("book.id.strategy", "snowflake");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown id strategy " + idStrategy);
+        }
+        return properties;
+    }
+}
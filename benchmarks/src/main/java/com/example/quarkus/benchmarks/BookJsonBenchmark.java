@@ -0,0 +1,106 @@
+package com.example.quarkus.benchmarks;
+
+import com.example.quarkus.author.entity.Author;
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookJsonBenchmark {
+
+    @Param({"100"})
+    int pageSize;
+
+    private ObjectWriter bookWriter;
+    private ObjectReader bookReader;
+    private ObjectWriter pageWriter;
+    private ObjectReader pageReader;
+    private ObjectWriter authorWriter;
+    private ObjectReader authorsReader;
+
+    private Book book;
+    private List<Book> page;
+    private List<Author> authors;
+    private String bookJson;
+    private String pageJson;
+    private String authorsJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        bookWriter = objectMapper.writerFor(Book.class);
+        bookReader = objectMapper.readerFor(Book.class);
+        pageWriter = objectMapper.writerFor(new TypeReference<List<Book>>() { });
+        pageReader = objectMapper.readerFor(new TypeReference<List<Book>>() { });
+        authorWriter = objectMapper.writerFor(new TypeReference<List<Author>>() { });
+        authorsReader = objectMapper.readerFor(new TypeReference<List<Author>>() { });
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            final Book item = new Book();
+            item.setId(1_000_000L + i);
+            item.setTitle("Como apertar botões " + i);
+            item.setAuthor("João");
+            page.add(item);
+        }
+        book = page.get(0);
+        authors = authorsReader.readValue(AuthorServiceStub.AUTHORS_JSON);
+
+        bookJson = bookWriter.writeValueAsString(book);
+        pageJson = pageWriter.writeValueAsString(page);
+        authorsJson = AuthorServiceStub.AUTHORS_JSON;
+    }
+
+    @Benchmark
+    public String writeBook() throws JsonProcessingException {
+        return bookWriter.writeValueAsString(book);
+    }
+
+    @Benchmark
+    public Book readBook() throws JsonProcessingException {
+        return bookReader.readValue(bookJson);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<Book> readPage() throws JsonProcessingException {
+        return pageReader.readValue(pageJson);
+    }
+
+    @Benchmark
+    public String writeAuthors() throws JsonProcessingException {
+        return authorWriter.writeValueAsString(authors);
+    }
+
+    @Benchmark
+    public List<Author> readAuthors() throws JsonProcessingException {
+        return authorsReader.readValue(authorsJson);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.quarkus.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files and exits with status 1 when any benchmark got worse than the allowed percentage:
+ * {@code java -cp target/benchmarks.jar com.example.quarkus.benchmarks.CompareResults baseline.json current.json 10}.
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json> [max regression %, default 10]");
+            System.exit(2);
+        }
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        final Map<String, JsonNode> baseline = read(new File(args[0]));
+        final Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            final JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s%n", entry.getKey(), "new");
+                continue;
+            }
+            final double oldScore = before.path("primaryMetric").path("score").asDouble();
+            final double newScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+            final boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            final double change = (newScore - oldScore) / oldScore * 100.0;
+            final double regression = higherIsBetter ? -change : change;
+            final boolean failed = regression > threshold;
+            if (failed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %+13.1f%% %s%n", entry.getKey(), change, failed ? "REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(final File file) throws IOException {
+        final Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            final Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(it -> params.put(it.getKey(), it.getValue().asText()));
+            results.put(result.path("benchmark").asText() + (params.isEmpty() ? "" : " " + params), result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.quarkus.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop load against {@code /books}: requests are sent at {@code load.rps} on a fixed schedule whether or not
+ * earlier ones have answered, and latency is measured from the scheduled send time, so a stalled server shows up
+ * as latency instead of as fewer requests. Create and list requests are shaped after the Postman collection; reads,
+ * updates and deletes pick ids created by the seed or by the run. Writes per-operation HdrHistogram percentile
+ * distributions ({@code target/load-<operation>.hgrm}) and a summary ({@code target/load-result.json}).
+ * <p>
+ * Without {@code load.target} the packaged application is started like the JMH benchmarks do, against a local author
+ * service stub; with it, the instance at that URL is used as is, e.g. dev mode with its WireMock author service.
+ * <p>
+ * Settings (system properties): {@code load.rps} (200), {@code load.duration} and {@code load.warmup} in seconds
+ * (30 and 5), {@code load.mix} ({@code create:20,read:50,list:10,update:15,delete:5}), {@code load.seed} books
+ * created up front (1000), {@code load.collection} and {@code load.target}.
+ */
+public final class LoadGenerator {
+
+    enum Operation {
+        CREATE, READ, LIST, UPDATE, DELETE
+    }
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final String DEFAULT_COLLECTION = "../postman/Books (Integration Tests).postman_collection.json";
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random = new Random(42);
+    private final List<Long> ids = new ArrayList<>();
+    private final Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final URI base;
+    private final PostmanCollection.Request createShape;
+    private final PostmanCollection.Request listShape;
+    private final List<String> authors = AuthorServiceStub.names();
+    private int created;
+
+    private LoadGenerator(final URI base, final PostmanCollection collection) {
+        this.base = base;
+        this.createShape = collection.find("POST", "/books");
+        this.listShape = collection.find("GET", "/books");
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Recorder(3));
+            statuses.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int rps = Integer.getInteger("load.rps", 200);
+        final long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("load.duration", 30));
+        final long warmupNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("load.warmup", 5));
+        final Map<Operation, Integer> mix = parseMix(System.getProperty("load.mix", "create:20,read:50,list:10,update:15,delete:5"));
+        final int seed = Integer.getInteger("load.seed", 1000);
+        final PostmanCollection collection = PostmanCollection.read(new File(System.getProperty("load.collection", DEFAULT_COLLECTION)));
+        final String target = System.getProperty("load.target");
+
+        if (target != null) {
+            new LoadGenerator(URI.create(target), collection).run(rps, warmupNanos, durationNanos, mix, seed);
+            return;
+        }
+        try (AuthorServiceStub authorService = AuthorServiceStub.start(0)) {
+            final Map<String, String> properties = new HashMap<>();
+            properties.put("quarkus.rest-client.\"com.example.quarkus.author.boundary.AuthorService\".url", authorService.url());
+            properties.put("book.ingest.journal", Files.createTempFile("load-", ".ndjson").toString());
+            try (ApplicationProcess application = ApplicationProcess.start(properties)) {
+                new LoadGenerator(application.uri("/"), collection).run(rps, warmupNanos, durationNanos, mix, seed);
+            }
+        }
+    }
+
+    private void run(final int rps, final long warmupNanos, final long durationNanos, final Map<Operation, Integer> mix,
+                     final int seed) throws IOException, InterruptedException {
+        seed(seed);
+        final Operation[] schedule = schedule(mix);
+        final long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+        final long start = System.nanoTime();
+        final long measureFrom = start + warmupNanos;
+        final long end = measureFrom + durationNanos;
+        System.out.printf("Sending %d requests/s to %s for %d s after a %d s warmup%n", rps, base,
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos), TimeUnit.NANOSECONDS.toSeconds(warmupNanos));
+        for (long i = 0; ; i++) {
+            final long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            final long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(schedule[random.nextInt(schedule.length)], intended, intended >= measureFrom);
+        }
+        final long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        report(durationNanos);
+    }
+
+    private void send(final Operation planned, final long intended, final boolean measured) {
+        final Long id = planned == Operation.CREATE || planned == Operation.LIST ? null : pickId(planned == Operation.DELETE);
+        final Operation operation = id == null && planned != Operation.LIST ? Operation.CREATE : planned;
+        final HttpRequest request = request(operation, id);
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+            inFlight.decrementAndGet();
+            if (measured) {
+                latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+                statuses.get(operation).computeIfAbsent(failure == null ? response.statusCode() : -1, it -> new LongAdder()).increment();
+            }
+            if (failure == null && operation == Operation.CREATE && response.statusCode() == 200) {
+                final Matcher matcher = ID.matcher(response.body());
+                if (matcher.find()) {
+                    addId(Long.parseLong(matcher.group(1)));
+                }
+            }
+        });
+    }
+
+    private HttpRequest request(final Operation operation, final Long id) {
+        switch (operation) {
+            case CREATE:
+                return json(HttpRequest.newBuilder(base.resolve(createShape.path)), "POST", book());
+            case READ:
+                return HttpRequest.newBuilder(base.resolve("/books/" + id)).GET().build();
+            case LIST:
+                return HttpRequest.newBuilder(base.resolve(listShape.path + "?limit=20")).GET().build();
+            case UPDATE:
+                return json(HttpRequest.newBuilder(base.resolve("/books/" + id)), "PUT", book());
+            default:
+                return HttpRequest.newBuilder(base.resolve("/books/" + id)).DELETE().build();
+        }
+    }
+
+    // The collection's POST body with a fresh title and an author the author service knows.
+    private ObjectNode book() {
+        final ObjectNode book = createShape.body == null ? objectMapper.createObjectNode() : createShape.body.deepCopy();
+        book.put("title", "load " + (created++));
+        book.put("author", authors.get(random.nextInt(authors.size())));
+        return book;
+    }
+
+    private static HttpRequest json(final HttpRequest.Builder builder, final String method, final Object body) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private void seed(final int count) throws IOException, InterruptedException {
+        for (int done = 0; done < count; ) {
+            final ArrayNode batch = objectMapper.createArrayNode();
+            for (int i = 0; i < 500 && done + i < count; i++) {
+                batch.add(book());
+            }
+            final HttpResponse<String> response = client.send(json(HttpRequest.newBuilder(base.resolve("/books/batch")), "POST", batch),
+                    HttpResponse.BodyHandlers.ofString());
+            final Matcher matcher = ID.matcher(response.body());
+            while (matcher.find()) {
+                addId(Long.parseLong(matcher.group(1)));
+            }
+            done += batch.size();
+        }
+        System.out.printf("Seeded %d books%n", ids.size());
+    }
+
+    private synchronized void addId(final long id) {
+        ids.add(id);
+    }
+
+    // Deleted ids leave the pool right away, so no two deletes race for the same book.
+    private synchronized Long pickId(final boolean remove) {
+        if (ids.isEmpty()) {
+            return null;
+        }
+        final int index = random.nextInt(ids.size());
+        final Long id = ids.get(index);
+        if (remove) {
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+        }
+        return id;
+    }
+
+    private void report(final long durationNanos) throws IOException {
+        final File directory = new File("target");
+        Files.createDirectories(directory.toPath());
+        final double seconds = durationNanos / 1e9;
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        final Histogram all = new Histogram(3);
+        System.out.printf("%-8s %8s %10s %9s %9s %9s %9s %9s  %s%n", "", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+        for (Operation operation : Operation.values()) {
+            final Histogram histogram = latencies.get(operation).getIntervalHistogram();
+            all.add(histogram);
+            final Map<Integer, Long> counts = new LinkedHashMap<>();
+            statuses.get(operation).forEach((status, count) -> counts.put(status, count.sum()));
+            summary.put(operation.name().toLowerCase(), describe(histogram, seconds, counts));
+            print(operation.name().toLowerCase(), histogram, seconds, counts);
+            try (PrintStream output = new PrintStream(new File(directory, "load-" + operation.name().toLowerCase() + ".hgrm"))) {
+                histogram.outputPercentileDistribution(output, 1000.0);
+            }
+        }
+        print("all", all, seconds, Map.of());
+        summary.put("all", describe(all, seconds, Map.of()));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(directory, "load-result.json"), summary);
+    }
+
+    private static void print(final String name, final Histogram histogram, final double seconds, final Map<Integer, Long> statuses) {
+        System.out.printf("%-8s %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", name, histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds, millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                millis(histogram, 99.9), histogram.getMaxValue() / 1000.0, statuses);
+    }
+
+    private static Map<String, Object> describe(final Histogram histogram, final double seconds, final Map<Integer, Long> statuses) {
+        final Map<String, Object> description = new LinkedHashMap<>();
+        description.put("count", histogram.getTotalCount());
+        description.put("throughput", histogram.getTotalCount() / seconds);
+        description.put("p50Millis", millis(histogram, 50));
+        description.put("p90Millis", millis(histogram, 90));
+        description.put("p99Millis", millis(histogram, 99));
+        description.put("p999Millis", millis(histogram, 99.9));
+        description.put("maxMillis", histogram.getMaxValue() / 1000.0);
+        description.put("statuses", statuses);
+        return description;
+    }
+
+    private static double millis(final Histogram histogram, final double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Operation[] schedule(final Map<Operation, Integer> mix) {
+        final List<Operation> schedule = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+        return schedule.toArray(new Operation[0]);
+    }
+
+    private static Map<Operation, Integer> parseMix(final String mix) {
+        final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.quarkus.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The requests of a Postman collection that target the application (port 8080), in collection order. Requests to
+ * other hosts, like the author service, are left out: the load generator only drives the application.
+ */
+public final class PostmanCollection {
+
+    private static final int APPLICATION_PORT = 8080;
+
+    private final List<Request> requests;
+
+    private PostmanCollection(final List<Request> requests) {
+        this.requests = requests;
+    }
+
+    public static PostmanCollection read(final File file) throws IOException {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final List<Request> requests = new ArrayList<>();
+        collect(objectMapper, objectMapper.readTree(file).path("item"), requests);
+        return new PostmanCollection(requests);
+    }
+
+    public Request find(final String method, final String path) {
+        for (Request request : requests) {
+            if (request.method.equals(method) && request.path.equals(path)) {
+                return request;
+            }
+        }
+        throw new IllegalArgumentException("No " + method + " " + path + " request in the collection");
+    }
+
+    private static void collect(final ObjectMapper objectMapper, final JsonNode items, final List<Request> requests) throws IOException {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(objectMapper, item.get("item"), requests);
+                continue;
+            }
+            final JsonNode request = item.path("request");
+            final JsonNode url = request.path("url");
+            final URI uri = URI.create(url.isTextual() ? url.asText() : url.path("raw").asText());
+            if (uri.getPort() != APPLICATION_PORT) {
+                continue;
+            }
+            final String raw = request.path("body").path("raw").asText("");
+            final JsonNode body = raw.isBlank() ? null : objectMapper.readTree(raw);
+            requests.add(new Request(request.path("method").asText(), uri.getRawPath(),
+                    body instanceof ObjectNode ? (ObjectNode) body : null));
+        }
+    }
+
+    public static final class Request {
+
+        public final String method;
+        public final String path;
+        public final ObjectNode body;
+
+        Request(final String method, final String path, final ObjectNode body) {
+            this.method = method;
+            this.path = path;
+            this.body = body;
+        }
+    }
+}
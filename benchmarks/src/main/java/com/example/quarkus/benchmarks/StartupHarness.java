@@ -0,0 +1,94 @@
+package com.example.quarkus.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.h2.tools.Server;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cold start of the packaged application over {@code runs} fresh processes: time from launch to the first successful
+ * {@code GET /books}, and resident memory once a book has been created. Run it once against the JVM build and once
+ * with {@code -Dapp.runner=../target/quarkus-st-1.0-SNAPSHOT-runner} for the native executable. Both talk to the same
+ * H2 TCP server, since embedded H2 is not available in a native image.
+ */
+public final class StartupHarness {
+
+    public static final String DEFAULT_RESULT = "target/startup-result.json";
+    private static final String BOOK_JSON = "{\"title\":\"startup\",\"author\":\"Gilson\"}";
+
+    private StartupHarness() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        final File result = new File(args.length > 1 ? args[1] : DEFAULT_RESULT);
+        final String mode = ApplicationProcess.APP_RUNNER != null ? "native" : "jvm";
+        final List<Long> startupMillis = new ArrayList<>(runs);
+        final List<Long> rssKb = new ArrayList<>(runs);
+        final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        final Server database = startDatabase();
+        try (AuthorServiceStub authorService = AuthorServiceStub.start(0)) {
+            for (int run = 0; run < runs; run++) {
+                final Map<String, String> properties = new HashMap<>();
+                properties.put("quarkus.datasource.jdbc.url", "jdbc:h2:tcp://localhost:" + database.getPort() + "/mem:startup-" + run + ";DB_CLOSE_DELAY=-1");
+                properties.put("quarkus.rest-client.\"com.example.quarkus.author.boundary.AuthorService\".url", authorService.url());
+                properties.put("book.ingest.journal", Files.createTempFile("startup-", ".ndjson").toString());
+                try (ApplicationProcess application = ApplicationProcess.start(properties)) {
+                    final HttpResponse<Void> created = client.send(HttpRequest.newBuilder(application.uri("/books"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(BOOK_JSON))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    if (created.statusCode() != 200) {
+                        throw new IllegalStateException("POST /books answered " + created.statusCode());
+                    }
+                    startupMillis.add(application.startupTime().toMillis());
+                    rssKb.add(application.residentSetKb());
+                }
+                System.out.printf("%s run %d: first request after %d ms, RSS %d KiB%n", mode, run + 1,
+                        startupMillis.get(run), rssKb.get(run));
+            }
+        } finally {
+            database.stop();
+        }
+
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("mode", mode);
+        summary.put("runs", runs);
+        summary.put("startupMillis", summarize(startupMillis));
+        summary.put("rssKb", summarize(rssKb));
+        System.out.println(summary);
+        if (result.getParentFile() != null) {
+            Files.createDirectories(result.getParentFile().toPath());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result, summary);
+    }
+
+    private static Server startDatabase() throws IOException, SQLException {
+        return Server.createTcpServer("-tcpPort", String.valueOf(ApplicationProcess.freePort())).start();
+    }
+
+    private static Map<String, Object> summarize(final List<Long> values) {
+        final List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("min", sorted.get(0));
+        summary.put("median", sorted.get(sorted.size() / 2));
+        summary.put("max", sorted.get(sorted.size() - 1));
+        summary.put("values", values);
+        return summary;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.quarkus;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.HttpMethod;
+
+/**
+ * Separate {@link AdaptiveLimit}s for book reads and writes.
+ */
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class AdmissionControl {
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "book.admission.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "book.admission.read.initial-limit", defaultValue = "64")
+    int readInitialLimit;
+
+    @ConfigProperty(name = "book.admission.read.max-limit", defaultValue = "512")
+    int readMaxLimit;
+
+    @ConfigProperty(name = "book.admission.read.latency-threshold-millis", defaultValue = "250")
+    long readLatencyThresholdMillis;
+
+    @ConfigProperty(name = "book.admission.write.initial-limit", defaultValue = "32")
+    int writeInitialLimit;
+
+    @ConfigProperty(name = "book.admission.write.max-limit", defaultValue = "256")
+    int writeMaxLimit;
+
+    @ConfigProperty(name = "book.admission.write.latency-threshold-millis", defaultValue = "500")
+    long writeLatencyThresholdMillis;
+
+    @ConfigProperty(name = "book.admission.min-limit", defaultValue = "4")
+    int minLimit;
+
+    @ConfigProperty(name = "book.admission.backoff-ratio", defaultValue = "0.9")
+    double backoffRatio;
+
+    @ConfigProperty(name = "book.admission.retry-after-seconds", defaultValue = "1")
+    int retryAfterSeconds;
+
+    private AdaptiveLimit reads;
+    private AdaptiveLimit writes;
+
+    @PostConstruct
+    void init() {
+        reads = new AdaptiveLimit(readInitialLimit, minLimit, readMaxLimit,
+                TimeUnit.MILLISECONDS.toNanos(readLatencyThresholdMillis), backoffRatio);
+        writes = new AdaptiveLimit(writeInitialLimit, minLimit, writeMaxLimit,
+                TimeUnit.MILLISECONDS.toNanos(writeLatencyThresholdMillis), backoffRatio);
+        register("read", reads);
+        register("write", writes);
+    }
+
+    // Null when admission control is off.
+    public AdaptiveLimit limitFor(final String method) {
+        if (!enabled) {
+            return null;
+        }
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) ? reads : writes;
+    }
+
+    public int retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    private void register(final String kind, final AdaptiveLimit limit) {
+        Gauge.builder("book.admission.limit", limit, AdaptiveLimit::limit).tag("kind", kind).register(registry);
+        Gauge.builder("book.admission.in-flight", limit, AdaptiveLimit::inFlight).tag("kind", kind).register(registry);
+        FunctionCounter.builder("book.admission.rejected", limit, AdaptiveLimit::rejected).tag("kind", kind).register(registry);
+    }
+}
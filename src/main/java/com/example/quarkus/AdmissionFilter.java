@@ -0,0 +1,67 @@
+package com.example.quarkus;
+
+import com.example.quarkus.book.boundary.BookResource;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Admits book requests on the event loop, before dispatch, and answers the rest with 503.
+ */
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class AdmissionFilter {
+
+    private static final int ORDER = -10;
+    // Not the long-lived export, import, changes and NDJSON streams.
+    private static final Pattern ADMITTED = Pattern.compile("/books(/search|/batch|/-?\\d+)?|/authors/[^/]+/books");
+
+    @Inject
+    AdmissionControl admissionControl;
+
+    void register(@Observes final Router router) {
+        router.route().order(ORDER).handler(this::filter);
+    }
+
+    void filter(final RoutingContext context) {
+        final AdaptiveLimit limit = isAdmitted(context) ? admissionControl.limitFor(context.request().method().name()) : null;
+        if (limit == null) {
+            context.next();
+            return;
+        }
+        if (!limit.tryAcquire()) {
+            context.response()
+                    .setStatusCode(Response.Status.SERVICE_UNAVAILABLE.getStatusCode())
+                    .putHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admissionControl.retryAfterSeconds()))
+                    .putHeader(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN)
+                    .end("Too many requests in flight.");
+            return;
+        }
+        final long started = System.nanoTime();
+        final AtomicBoolean released = new AtomicBoolean();
+        final Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - started);
+            }
+        };
+        // The REST layer replaces the response's end handler, so the body end handler is the one always called.
+        context.addBodyEndHandler(ended -> release.run());
+        context.addEndHandler(ended -> release.run());
+        context.next();
+    }
+
+    private static boolean isAdmitted(final RoutingContext context) {
+        final String accept = context.request().getHeader(HttpHeaders.ACCEPT);
+        return ADMITTED.matcher(context.normalizedPath()).matches()
+                && (accept == null || !accept.contains(BookResource.APPLICATION_NDJSON));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.quarkus;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Context;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Runs blocking work off the event loop, with the request context the entity manager needs.
+ */
+@ApplicationScoped
+public class BlockingExecution {
+
+    public <T> Uni<T> run(final Supplier<T> work) {
+        final Uni<T> uni = Uni.createFrom().item(() -> withRequestContext(work));
+        return mustOffload() ? uni.runSubscriptionOn(executor()) : uni;
+    }
+
+    protected boolean mustOffload() {
+        return Context.isOnEventLoopThread();
+    }
+
+    protected Executor executor() {
+        return Infrastructure.getDefaultWorkerPool();
+    }
+
+    private static <T> T withRequestContext(final Supplier<T> work) {
+        final ManagedContext requestContext = Arc.container().requestContext();
+        if (requestContext.isActive()) {
+            return work.get();
+        }
+        requestContext.activate();
+        try {
+            return work.get();
+        } finally {
+            requestContext.terminate();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.quarkus;
+
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.inject.Inject;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Compresses {@link Compressed} responses in the coding {@link ContentCoding} picks, once they outgrow its threshold.
+ */
+@Provider
+@Compressed
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class CompressionInterceptor implements WriterInterceptor {
+
+    @Inject
+    ContentCoding contentCoding;
+
+    @Inject
+    RoutingContext routingContext;
+
+    @Context
+    HttpHeaders requestHeaders;
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        if (!context.getHeaders().containsKey(HttpHeaders.VARY)) {
+            context.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        final String coding = contentCoding.negotiate(requestHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (coding == null) {
+            context.proceed();
+            return;
+        }
+        final ThresholdOutputStream output = new ThresholdOutputStream(
+                context.getOutputStream(), contentCoding.threshold(), coding, context.getHeaders(), routingContext.response());
+        context.setOutputStream(output);
+        context.proceed();
+        output.finish();
+    }
+
+    private static final class ThresholdOutputStream extends OutputStream {
+
+        private final OutputStream target;
+        private final String coding;
+        private final MultivaluedMap<String, Object> headers;
+        private final HttpServerResponse response;
+        private byte[] pending;
+        private int count;
+        private DeflaterOutputStream encoder;
+        private boolean finished;
+
+        ThresholdOutputStream(final OutputStream target, final int threshold, final String coding,
+                              final MultivaluedMap<String, Object> headers, final HttpServerResponse response) {
+            this.target = target;
+            this.coding = coding;
+            this.headers = headers;
+            this.response = response;
+            this.pending = new byte[threshold];
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (encoder != null) {
+                encoder.write(b, off, len);
+            } else if (count + len <= pending.length) {
+                System.arraycopy(b, off, pending, count, len);
+                count += len;
+            } else {
+                // Nothing has reached the client yet; RESTEasy Reactive has already copied the headers to Vert.x.
+                headers.putSingle(HttpHeaders.CONTENT_ENCODING, coding);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                response.putHeader(HttpHeaders.CONTENT_ENCODING, coding);
+                response.headers().remove(HttpHeaders.CONTENT_LENGTH);
+                encoder = ContentCoding.GZIP.equals(coding) ? new GZIPOutputStream(target, 8192) : new DeflaterOutputStream(target);
+                encoder.write(pending, 0, count);
+                encoder.write(b, off, len);
+                pending = null;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (encoder != null) {
+                encoder.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (encoder != null) {
+                encoder.finish();
+            } else {
+                target.write(pending, 0, count);
+            }
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            target.close();
+        }
+    }
+}
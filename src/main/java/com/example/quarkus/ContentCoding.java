@@ -0,0 +1,65 @@
+package com.example.quarkus;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * The content coding a response is compressed with, chosen once here for both the entity tag and the encoder.
+ */
+@ApplicationScoped
+public class ContentCoding {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    @ConfigProperty(name = "book.http.compression-threshold", defaultValue = "1024")
+    int threshold;
+
+    /**
+     * Gzip or deflate, whichever {@code acceptEncoding} ranks higher, gzip on a tie; {@code null} for identity.
+     */
+    public String negotiate(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        float star = 0;
+        float gzip = -1;
+        float deflate = -1;
+        for (String part : acceptEncoding.split(",")) {
+            final String[] parameters = part.split(";");
+            float q = 1;
+            for (int i = 1; i < parameters.length; i++) {
+                final String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        q = Float.parseFloat(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            final String coding = parameters[0].trim();
+            if ("*".equals(coding)) {
+                star = q;
+            } else if (GZIP.equalsIgnoreCase(coding)) {
+                gzip = q;
+            } else if (DEFLATE.equalsIgnoreCase(coding)) {
+                deflate = q;
+            }
+        }
+        gzip = gzip < 0 ? star : gzip;
+        deflate = deflate < 0 ? star : deflate;
+        if (gzip <= 0 && deflate <= 0) {
+            return null;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    /**
+     * Bodies up to this many bytes are sent as they are: compressing them costs more CPU than it saves on the wire.
+     */
+    public int threshold() {
+        return threshold;
+    }
+}
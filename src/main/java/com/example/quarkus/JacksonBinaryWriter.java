@@ -0,0 +1,78 @@
+package com.example.quarkus;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Writes responses as Smile or CBOR with one cached {@link ObjectWriter} per format and type.
+ */
+@Provider
+@Produces({JacksonBinaryWriter.APPLICATION_SMILE, JacksonBinaryWriter.APPLICATION_CBOR})
+public class JacksonBinaryWriter implements MessageBodyWriter<Object> {
+
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final MediaType APPLICATION_SMILE_TYPE = MediaType.valueOf(APPLICATION_SMILE);
+    public static final MediaType APPLICATION_CBOR_TYPE = MediaType.valueOf(APPLICATION_CBOR);
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private ObjectMapper smile;
+    private ObjectMapper cbor;
+    private final Map<Type, ObjectWriter> smileWriters = new ConcurrentHashMap<>();
+    private final Map<Type, ObjectWriter> cborWriters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        smile = mapper(objectMapper, new SmileFactory());
+        cbor = mapper(objectMapper, new CBORFactory());
+    }
+
+    /**
+     * A mapper for {@code factory} that serializes like {@code json}: same features, modules and mix-ins.
+     */
+    private static ObjectMapper mapper(final ObjectMapper json, final JsonFactory factory) {
+        // The container owns and closes the entity stream.
+        final ObjectMapper mapper = new ObjectMapper(factory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+        mapper.setConfig(json.getSerializationConfig());
+        mapper.setSerializerFactory(json.getSerializerFactory());
+        mapper.setTypeFactory(json.getTypeFactory());
+        return mapper;
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations, final MediaType mediaType) {
+        return APPLICATION_SMILE_TYPE.isCompatible(mediaType) || APPLICATION_CBOR_TYPE.isCompatible(mediaType);
+    }
+
+    @Override
+    public void writeTo(final Object value, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream)
+            throws IOException {
+        final Type valueType = genericType != null ? genericType : type;
+        final ObjectWriter writer = APPLICATION_SMILE_TYPE.isCompatible(mediaType)
+                ? smileWriters.computeIfAbsent(valueType, it -> smile.writerFor(smile.constructType(it)))
+                : cborWriters.computeIfAbsent(valueType, it -> cbor.writerFor(cbor.constructType(it)));
+        writer.writeValue(entityStream, value);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.quarkus.author.boundary;
+
+import com.example.quarkus.author.control.AuthorDirectory;
+import com.example.quarkus.author.entity.AuthorDirectoryStats;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+@Path("/authors/directory")
+public class AuthorDirectoryResource {
+
+    @Inject
+    AuthorDirectory authorDirectory;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public AuthorDirectoryStats stats() {
+        return authorDirectory.stats();
+    }
+
+}
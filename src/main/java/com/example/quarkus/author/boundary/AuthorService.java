@@ -1,13 +1,16 @@
 package com.example.quarkus.author.boundary;
 
 import com.example.quarkus.author.entity.Author;
+import io.smallrye.mutiny.Uni;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
 import java.util.List;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 
 @RegisterRestClient
@@ -15,7 +18,12 @@ import javax.ws.rs.core.MediaType;
 public interface AuthorService {
 
     @GET
+    @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    List<Author> listAuthors();
+    Uni<Author> findById(@PathParam("id") Long id);
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<List<Author>> findByNames(@QueryParam("names") List<String> names);
 
 }
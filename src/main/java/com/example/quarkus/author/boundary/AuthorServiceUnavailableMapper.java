@@ -0,0 +1,30 @@
+package com.example.quarkus.author.boundary;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceException;
+
+import javax.enterprise.inject.Instance;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Answers 503 when the author service call is timed out, rejected by the bulkhead or short-circuited.
+ */
+@Provider
+public class AuthorServiceUnavailableMapper implements ExceptionMapper<FaultToleranceException> {
+
+    @ConfigProperty(name = "com.example.quarkus.author.control.AuthorClient/CircuitBreaker/delay", defaultValue = "5000")
+    Instance<Long> circuitBreakerDelayMillis;
+
+    @Override
+    public Response toResponse(final FaultToleranceException exception) {
+        final long retryAfterSeconds = exception instanceof CircuitBreakerOpenException
+                ? Math.max(1L, circuitBreakerDelayMillis.get() / 1000) : 1L;
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .build();
+    }
+}
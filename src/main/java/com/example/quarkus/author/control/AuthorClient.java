@@ -0,0 +1,50 @@
+package com.example.quarkus.author.control;
+
+import com.example.quarkus.author.boundary.AuthorService;
+import com.example.quarkus.author.entity.Author;
+import io.smallrye.common.annotation.NonBlocking;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Timeout;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+/**
+ * Fault-tolerant calls to {@link AuthorService}, configured with the {@code AuthorClient/*} keys.
+ */
+@ApplicationScoped
+@NonBlocking
+@Timeout
+@Bulkhead
+@CircuitBreaker
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class AuthorClient {
+
+    @Inject
+    @RestClient
+    AuthorService authorService;
+
+    public Uni<List<Author>> findByNames(final List<String> names) {
+        return authorService.findByNames(names);
+    }
+
+    public Uni<Optional<Author>> findById(final Long id) {
+        // An unknown id is an answer, not a failure, so it must not count towards opening the circuit.
+        return authorService.findById(id)
+                .map(Optional::of)
+                .onFailure(AuthorClient::isNotFound).recoverWithItem(Optional.empty());
+    }
+
+    private static boolean isNotFound(final Throwable failure) {
+        return failure instanceof WebApplicationException
+                && ((WebApplicationException) failure).getResponse().getStatus() == Response.Status.NOT_FOUND.getStatusCode();
+    }
+}
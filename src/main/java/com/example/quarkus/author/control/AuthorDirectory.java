@@ -0,0 +1,232 @@
+package com.example.quarkus.author.control;
+
+import com.example.quarkus.author.entity.Author;
+import com.example.quarkus.author.entity.AuthorDirectoryStats;
+import com.example.quarkus.metrics.OperationTimer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Name to {@link Author} cache in front of the author service; expired entries are served while they refresh.
+ */
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class AuthorDirectory {
+
+    private static final Logger LOG = Logger.getLogger(AuthorDirectory.class);
+
+    @Inject
+    AuthorClient authorClient;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "author.directory.ttl", defaultValue = "5m")
+    Duration ttl;
+
+    @ConfigProperty(name = "author.directory.miss-refresh-interval", defaultValue = "5s")
+    Duration missRefreshInterval;
+
+    @ConfigProperty(name = "author.directory.max-size", defaultValue = "10000")
+    int maxSize;
+
+    private Cache<String, Entry> entries;
+    private final Map<String, Uni<Entry>> inFlight = new ConcurrentHashMap<>();
+    private volatile long lastLoadedAt;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private OperationTimer findByNamesTimer;
+
+    @PostConstruct
+    void registerMeters() {
+        entries = Caffeine.newBuilder().maximumSize(maxSize).build();
+        findByNamesTimer = OperationTimer.register(registry, "author.service", "findByNames");
+        FunctionCounter.builder("author.directory.hits", hits, LongAdder::sum).register(registry);
+        FunctionCounter.builder("author.directory.misses", misses, LongAdder::sum).register(registry);
+        FunctionCounter.builder("author.directory.refreshes", refreshes, LongAdder::sum).register(registry);
+        FunctionCounter.builder("author.directory.refresh.failures", refreshFailures, LongAdder::sum).register(registry);
+        Gauge.builder("author.directory.size", entries, Cache::estimatedSize).register(registry);
+    }
+
+    public Optional<Author> findByName(final String name) {
+        return findByNameAsync(name).await().indefinitely();
+    }
+
+    public Uni<Optional<Author>> findByNameAsync(final String name) {
+        if (name == null) {
+            return Uni.createFrom().item(Optional.empty());
+        }
+        return findByNamesAsync(List.of(name)).map(found -> Optional.ofNullable(found.get(name)));
+    }
+
+    public Map<String, Author> findByNames(final Collection<String> names) {
+        return findByNamesAsync(names).await().indefinitely();
+    }
+
+    /**
+     * Known authors among {@code names}, keyed by name. Unknown names are left out.
+     */
+    public Uni<Map<String, Author>> findByNamesAsync(final Collection<String> names) {
+        return Uni.createFrom().deferred(() -> {
+            final Map<String, Author> found = new HashMap<>();
+            final List<String> missing = new ArrayList<>();
+            final List<String> expired = new ArrayList<>();
+            for (String name : new LinkedHashSet<>(names)) {
+                if (name == null) {
+                    continue;
+                }
+                final Entry entry = entries.getIfPresent(name);
+                if (entry == null) {
+                    misses.increment();
+                    missing.add(name);
+                    continue;
+                }
+                hits.increment();
+                if (!entry.isFresh(ttl, missRefreshInterval)) {
+                    expired.add(name);
+                }
+                if (entry.author != null) {
+                    found.put(name, entry.author);
+                }
+            }
+            if (!expired.isEmpty()) {
+                load(expired).subscribe().with(refreshed -> {
+                }, failure -> LOG.debugf("Could not refresh authors %s: %s", expired, failure.getMessage()));
+            }
+            if (missing.isEmpty()) {
+                return Uni.createFrom().item(found);
+            }
+            return load(missing).map(loaded -> {
+                for (int i = 0; i < missing.size(); i++) {
+                    final Author author = loaded.get(i).author;
+                    if (author != null) {
+                        found.put(missing.get(i), author);
+                    }
+                }
+                return found;
+            });
+        });
+    }
+
+    public AuthorDirectoryStats stats() {
+        final AuthorDirectoryStats stats = new AuthorDirectoryStats();
+        entries.cleanUp();
+        stats.setSize((int) entries.estimatedSize());
+        stats.setLoadedAt(lastLoadedAt == 0L ? null : Instant.ofEpochMilli(lastLoadedAt));
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setRefreshes(refreshes.sum());
+        stats.setRefreshFailures(refreshFailures.sum());
+        return stats;
+    }
+
+    /**
+     * One entry per name, in order. Names that are already being looked up join that call.
+     */
+    private Uni<List<Entry>> load(final List<String> names) {
+        final CompletableFuture<Map<String, Entry>> call = new CompletableFuture<>();
+        final Map<String, Uni<Entry>> owned = new HashMap<>();
+        final List<Uni<Entry>> pending = new ArrayList<>(names.size());
+        for (String name : names) {
+            final Uni<Entry> shared = Uni.createFrom().completionStage(call).map(loaded -> loaded.get(name));
+            final Uni<Entry> running = inFlight.putIfAbsent(name, shared);
+            if (running == null) {
+                owned.put(name, shared);
+            }
+            pending.add((running == null ? shared : running).onFailure().recoverWithUni(e -> stale(name, e)));
+        }
+        if (!owned.isEmpty()) {
+            fetch(new ArrayList<>(owned.keySet()))
+                    .eventually(() -> owned.forEach(inFlight::remove))
+                    .subscribe().with(call::complete, call::completeExceptionally);
+        }
+        return Uni.combine().all().unis(pending).combinedWith(results -> {
+            final List<Entry> loaded = new ArrayList<>(results.size());
+            for (Object result : results) {
+                loaded.add((Entry) result);
+            }
+            return loaded;
+        });
+    }
+
+    private Uni<Map<String, Entry>> fetch(final List<String> names) {
+        final long start = System.nanoTime();
+        return authorClient.findByNames(names)
+                .onItemOrFailure().invoke((authors, failure) -> {
+                    if (failure == null) {
+                        findByNamesTimer.success(start);
+                    } else {
+                        findByNamesTimer.error(start);
+                        refreshFailures.increment();
+                    }
+                })
+                .map(authors -> {
+                    final long now = System.currentTimeMillis();
+                    final Map<String, Author> byName = new HashMap<>(authors.size() * 4 / 3 + 1);
+                    for (Author author : authors) {
+                        if (author.getName() != null) {
+                            byName.put(author.getName(), author);
+                        }
+                    }
+                    final Map<String, Entry> loaded = new HashMap<>(names.size() * 4 / 3 + 1);
+                    for (String name : names) {
+                        final Entry entry = new Entry(byName.get(name), now);
+                        loaded.put(name, entry);
+                        entries.put(name, entry);
+                    }
+                    lastLoadedAt = now;
+                    refreshes.increment();
+                    return loaded;
+                });
+    }
+
+    private Uni<Entry> stale(final String name, final Throwable failure) {
+        final Entry entry = entries.getIfPresent(name);
+        if (entry == null) {
+            return Uni.createFrom().failure(failure);
+        }
+        LOG.debugf("Could not look up author %s, serving the cached answer: %s", name, failure.getMessage());
+        return Uni.createFrom().item(entry);
+    }
+
+    private static final class Entry {
+
+        final Author author;
+        final long loadedAt;
+
+        Entry(final Author author, final long loadedAt) {
+            this.author = author;
+            this.loadedAt = loadedAt;
+        }
+
+        // Unknown names are asked again sooner: the author may have been registered in the meantime.
+        boolean isFresh(final Duration ttl, final Duration missTtl) {
+            return System.currentTimeMillis() - loadedAt < (author == null ? missTtl : ttl).toMillis();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.quarkus.author.entity;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
 public class Author {
 
     private Long id;
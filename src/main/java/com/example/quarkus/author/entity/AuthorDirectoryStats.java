@@ -0,0 +1,64 @@
+package com.example.quarkus.author.entity;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.time.Instant;
+
+@RegisterForReflection
+public class AuthorDirectoryStats {
+
+    private int size;
+    private Instant loadedAt;
+    private long hits;
+    private long misses;
+    private long refreshes;
+    private long refreshFailures;
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(final int size) {
+        this.size = size;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public void setLoadedAt(final Instant loadedAt) {
+        this.loadedAt = loadedAt;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(final long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(final long misses) {
+        this.misses = misses;
+    }
+
+    public long getRefreshes() {
+        return refreshes;
+    }
+
+    public void setRefreshes(final long refreshes) {
+        this.refreshes = refreshes;
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures;
+    }
+
+    public void setRefreshFailures(final long refreshFailures) {
+        this.refreshFailures = refreshFailures;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.BlockingExecution;
+import com.example.quarkus.Compressed;
+import com.example.quarkus.ContentCoding;
+import com.example.quarkus.JacksonBinaryWriter;
+import com.example.quarkus.book.control.BookController;
+
+import java.util.concurrent.CompletionStage;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+
+@Path("/authors/{authorId}/books")
+public class AuthorBooksResource {
+
+    @Inject
+    BookController bookController;
+
+    @Inject
+    BlockingExecution blockingExecution;
+
+    @Inject
+    ContentCoding contentCoding;
+
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, JacksonBinaryWriter.APPLICATION_SMILE, JacksonBinaryWriter.APPLICATION_CBOR})
+    @Compressed
+    public CompletionStage<Response> findByAuthor(@PathParam("authorId") Long authorId, @QueryParam("after") Long after, @QueryParam("limit") Integer limit,
+                                                  @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch, @Context HttpHeaders headers,
+                                                  @Context UriInfo uriInfo) {
+        final BookRepresentation representation = BookRepresentation.of(headers, contentCoding);
+        return blockingExecution.run(() -> bookController.findByAuthor(authorId, after, limit)).map(books -> {
+            final EntityTag tag = representation.tag(BookPreconditions.tag(books));
+            if (BookPreconditions.notModified(ifNoneMatch, tag)) {
+                return representation.notModified(tag).build();
+            }
+            final Response.ResponseBuilder response = representation.ok(books, tag);
+            if (books.size() == bookController.pageSize(limit)) {
+                final Long last = books.get(books.size() - 1).getId();
+                response.link(uriInfo.getRequestUriBuilder().replaceQueryParam("after", last).build(), "next");
+            }
+            return response.build();
+        }).subscribeAsCompletionStage();
+    }
+
+}
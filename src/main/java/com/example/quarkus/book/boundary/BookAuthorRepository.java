@@ -0,0 +1,15 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.book.entity.Book;
+
+import java.util.List;
+
+public interface BookAuthorRepository {
+
+    List<Book> findPageByAuthor(long authorId, long after, int limit);
+
+    List<String> findUnlinkedAuthors(String after, int limit);
+
+    int linkAuthor(String author, long authorId);
+
+}
@@ -0,0 +1,49 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.book.entity.Book;
+import org.hibernate.jpa.QueryHints;
+
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+@ApplicationScoped
+public class BookAuthorRepositoryImpl implements BookAuthorRepository {
+
+    @Inject
+    EntityManager entityManager;
+
+    // Seeks on the (author_id, id) index and reads the page in index order.
+    @Override
+    public List<Book> findPageByAuthor(final long authorId, final long after, final int limit) {
+        return entityManager.createQuery("from Book b where b.authorId = :authorId and b.id > :after order by b.id", Book.class)
+                .setParameter("authorId", authorId)
+                .setParameter("after", after)
+                .setMaxResults(limit)
+                .setHint(QueryHints.HINT_CACHEABLE, true)
+                .getResultList();
+    }
+
+    // Called from the backfill, which may run on a thread without a request context.
+    @Override
+    @Transactional
+    public List<String> findUnlinkedAuthors(final String after, final int limit) {
+        return entityManager.createQuery("select distinct b.author from Book b"
+                        + " where b.authorId is null and b.author > :after order by b.author", String.class)
+                .setParameter("after", after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional
+    public int linkAuthor(final String author, final long authorId) {
+        return entityManager.createQuery("update Book b set b.authorId = :authorId where b.author = :author and b.authorId is null")
+                .setParameter("authorId", authorId)
+                .setParameter("author", author)
+                .executeUpdate();
+    }
+}
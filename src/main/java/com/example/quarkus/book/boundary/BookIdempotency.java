@@ -0,0 +1,171 @@
+package com.example.quarkus.book.boundary;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.core.Response;
+
+/**
+ * Replays the response of writes retried with the same {@code Idempotency-Key}.
+ */
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class BookIdempotency {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int UNPROCESSABLE_ENTITY = 422;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "book.idempotency.ttl", defaultValue = "24h")
+    Duration ttl;
+
+    @ConfigProperty(name = "book.idempotency.max-size", defaultValue = "10000")
+    int maxSize;
+
+    private final LongAdder replays = new LongAdder();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Entries of completed requests in completion order; running ones are never evicted.
+    private final Queue<Entry> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger completedCount = new AtomicInteger();
+
+    @PostConstruct
+    void registerMeters() {
+        FunctionCounter.builder("book.idempotency.replays", replays, LongAdder::sum).register(registry);
+        Gauge.builder("book.idempotency.size", entries, Map::size).register(registry);
+    }
+
+    public Uni<Response> run(final String key, final String scope, final Supplier<String> fingerprint, final Supplier<Uni<Response>> write) {
+        if (key == null) {
+            return write.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Invalid " + IDEMPOTENCY_KEY + ".");
+        }
+        return Uni.createFrom().deferred(() -> {
+            final String scopedKey = scope + ' ' + key;
+            final Entry created = new Entry(scopedKey, fingerprint.get());
+            final Entry existing = claim(scopedKey, created);
+            if (existing == null) {
+                return execute(scopedKey, created, write);
+            }
+            if (!Objects.equals(existing.fingerprint, created.fingerprint)) {
+                return Uni.createFrom().failure(new ClientErrorException(
+                        IDEMPOTENCY_KEY + " was already used for a different request.", UNPROCESSABLE_ENTITY));
+            }
+            replays.increment();
+            return Uni.createFrom().completionStage(existing.result)
+                    .map(response -> Response.fromResponse(response).header(IDEMPOTENT_REPLAYED, true).build());
+        });
+    }
+
+    private Uni<Response> execute(final String key, final Entry entry, final Supplier<Uni<Response>> write) {
+        final Uni<Response> result;
+        try {
+            result = write.get();
+        } catch (RuntimeException e) {
+            return Uni.createFrom().<Response>failure(e).onFailure().invoke(failure -> fail(key, entry, failure));
+        }
+        return result.onCancellation().invoke(() -> {
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(new CancellationException("The first request was cancelled."));
+        }).onItemOrFailure().invoke((response, failure) -> {
+            if (failure != null) {
+                fail(key, entry, failure);
+            } else if (response.getStatus() >= 500) {
+                entries.remove(key, entry);
+                entry.result.complete(response);
+            } else {
+                completed(entry);
+                entry.result.complete(Response.fromResponse(response).build());
+            }
+        });
+    }
+
+    private void fail(final String key, final Entry entry, final Throwable failure) {
+        if (failure instanceof ClientErrorException) {
+            completed(entry);
+        } else {
+            entries.remove(key, entry);
+        }
+        entry.result.completeExceptionally(failure);
+    }
+
+    private void completed(final Entry entry) {
+        entry.completedAt = System.currentTimeMillis();
+        completed.add(entry);
+        completedCount.incrementAndGet();
+        evict();
+    }
+
+    // Null once created is stored. An expired entry is replaced when its key comes back before it is evicted.
+    private Entry claim(final String key, final Entry created) {
+        evict();
+        final long oldest = System.currentTimeMillis() - ttl.toMillis();
+        while (true) {
+            final Entry existing = entries.putIfAbsent(key, created);
+            if (existing == null) {
+                return null;
+            }
+            if (!existing.completedBefore(oldest)) {
+                return existing;
+            }
+            if (entries.replace(key, existing, created)) {
+                return null;
+            }
+        }
+    }
+
+    // Completion order is expiry order, so both limits only ever drop the head of the queue.
+    private void evict() {
+        final long oldest = System.currentTimeMillis() - ttl.toMillis();
+        for (Entry eldest = completed.peek(); eldest != null && (completedCount.get() > maxSize || eldest.completedBefore(oldest));
+             eldest = completed.peek()) {
+            if (completed.remove(eldest)) {
+                completedCount.decrementAndGet();
+                entries.remove(eldest.key, eldest);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        final String key;
+        final String fingerprint;
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        volatile long completedAt;
+
+        Entry(final String key, final String fingerprint) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+        }
+
+        boolean completedBefore(final long time) {
+            final long completed = completedAt;
+            return completed != 0L && completed < time;
+        }
+    }
+}
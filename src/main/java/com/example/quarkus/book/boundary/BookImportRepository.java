@@ -0,0 +1,8 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.book.entity.BookImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BookImportRepository extends JpaRepository<BookImport, String> {
+
+}
@@ -0,0 +1,11 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.book.entity.Book;
+
+import java.util.List;
+
+public interface BookPageRepository {
+
+    List<Book> findPage(long after, int limit);
+
+}
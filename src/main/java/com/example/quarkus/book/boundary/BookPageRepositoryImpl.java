@@ -0,0 +1,29 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.book.entity.Book;
+import org.hibernate.jpa.QueryHints;
+
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+
+/**
+ * Pages through the query cache, which any write to the book table invalidates.
+ */
+@ApplicationScoped
+public class BookPageRepositoryImpl implements BookPageRepository {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Override
+    public List<Book> findPage(final long after, final int limit) {
+        return entityManager.createQuery("from Book b where b.id > :after order by b.id", Book.class)
+                .setParameter("after", after)
+                .setMaxResults(limit)
+                .setHint(QueryHints.HINT_CACHEABLE, true)
+                .getResultList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.author.entity.Author;
+import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.book.entity.ExpandedBook;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+
+/**
+ * Strong entity tags for books and pages, evaluated by hand since the endpoints complete off the JAX-RS context.
+ */
+final class BookPreconditions {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private BookPreconditions() {
+    }
+
+    static EntityTag tag(final Book book) {
+        return new EntityTag(String.valueOf(book.getVersion()));
+    }
+
+    static EntityTag tag(final List<Book> books) {
+        long hash = 1125899906842597L;
+        for (Book book : books) {
+            hash = 31 * hash + book.getId();
+            hash = 31 * hash + (book.getVersion() == null ? 0 : book.getVersion());
+        }
+        return new EntityTag(Long.toHexString(hash) + "-" + books.size());
+    }
+
+    /**
+     * The tag of {@code tag}'s books with their authors expanded, which also changes when an author does.
+     */
+    static EntityTag withAuthors(final EntityTag tag, final List<ExpandedBook> books) {
+        long hash = 1125899906842597L;
+        for (ExpandedBook book : books) {
+            final Author author = book.getAuthor();
+            hash = 31 * hash + (author == null ? 0 : Objects.hashCode(author.getId()));
+            hash = 31 * hash + (author == null ? 0 : Objects.hashCode(author.getName()));
+        }
+        return new EntityTag(tag.getValue() + "+author-" + Long.toHexString(hash));
+    }
+
+    /**
+     * If-None-Match uses the weak comparison: a weak tag from the client still matches our strong one.
+     */
+    static boolean notModified(final String ifNoneMatch, final EntityTag tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (ANY.equals(value)) {
+                return true;
+            }
+            if (value.startsWith(WEAK_PREFIX)) {
+                value = value.substring(WEAK_PREFIX.length());
+            }
+            if (unquote(value).equals(tag.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code null} without If-Match, empty for {@code If-Match: *}; weak tags never match.
+     */
+    static Set<Long> expectedVersions(final String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        final Set<Long> versions = new HashSet<>();
+        for (String candidate : ifMatch.split(",")) {
+            final String value = candidate.trim();
+            if (ANY.equals(value)) {
+                return Collections.emptySet();
+            }
+            if (value.startsWith(WEAK_PREFIX)) {
+                continue;
+            }
+            final String tag = unquote(value);
+            final int suffix = tag.indexOf('+');
+            try {
+                versions.add(Long.valueOf(suffix < 0 ? tag : tag.substring(0, suffix)));
+            } catch (NumberFormatException e) {
+                // Not a tag of ours, so it matches no version.
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new ClientErrorException("Book was modified.", Response.Status.PRECONDITION_FAILED);
+        }
+        return versions;
+    }
+
+    private static String unquote(final String value) {
+        return value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"'
+                ? value.substring(1, value.length() - 1)
+                : value;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.quarkus.book.boundary;
 import com.example.quarkus.book.entity.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookStreamRepository, BookPageRepository,
+        BookAuthorRepository, BookUpdateRepository {
 
 }
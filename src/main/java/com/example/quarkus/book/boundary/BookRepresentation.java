@@ -0,0 +1,62 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.ContentCoding;
+import com.example.quarkus.JacksonBinaryWriter;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * The media type and content coding a book response is sent in; each combination gets its own strong entity tag.
+ */
+final class BookRepresentation {
+
+    private static final MediaType[] MEDIA_TYPES = {
+            MediaType.APPLICATION_JSON_TYPE, JacksonBinaryWriter.APPLICATION_SMILE_TYPE, JacksonBinaryWriter.APPLICATION_CBOR_TYPE};
+    private static final String[] MEDIA_TYPE_SUFFIXES = {"", "+smile", "+cbor"};
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private final int mediaType;
+    private final String coding;
+
+    private BookRepresentation(final int mediaType, final String coding) {
+        this.mediaType = mediaType;
+        this.coding = coding;
+    }
+
+    /**
+     * The first of JSON, Smile and CBOR the client accepts, and the coding a large enough body is compressed with.
+     */
+    static BookRepresentation of(final HttpHeaders headers, final ContentCoding coding) {
+        return new BookRepresentation(mediaType(headers), coding.negotiate(headers.getHeaderString(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    EntityTag tag(final EntityTag tag) {
+        return new EntityTag(tag.getValue() + MEDIA_TYPE_SUFFIXES[mediaType] + (coding == null ? "" : "+" + coding));
+    }
+
+    Response.ResponseBuilder ok(final Object entity, final EntityTag tag) {
+        return ok(entity).tag(tag);
+    }
+
+    Response.ResponseBuilder ok(final Object entity) {
+        return Response.ok(entity, MEDIA_TYPES[mediaType]).header(HttpHeaders.VARY, VARY);
+    }
+
+    Response.ResponseBuilder notModified(final EntityTag tag) {
+        return Response.notModified(tag).header(HttpHeaders.VARY, VARY);
+    }
+
+    private static int mediaType(final HttpHeaders headers) {
+        for (MediaType accepted : headers.getAcceptableMediaTypes()) {
+            for (int i = 0; i < MEDIA_TYPES.length; i++) {
+                if (accepted.isCompatible(MEDIA_TYPES[i])) {
+                    return i;
+                }
+            }
+        }
+        return 0;
+    }
+}
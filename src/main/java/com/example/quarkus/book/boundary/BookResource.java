@@ -1,59 +1,408 @@
 package com.example.quarkus.book.boundary;
 
+import com.example.quarkus.BlockingExecution;
+import com.example.quarkus.Compressed;
+import com.example.quarkus.ContentCoding;
+import com.example.quarkus.JacksonBinaryWriter;
+import com.example.quarkus.book.control.BookChangeLog;
 import com.example.quarkus.book.control.BookController;
+import com.example.quarkus.book.control.BookCsv;
+import com.example.quarkus.book.control.BookImporter;
+import com.example.quarkus.book.control.BookIngestQueue;
+import com.example.quarkus.book.control.BookReadModel;
 import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.book.entity.BookBatchResult;
+import com.example.quarkus.book.entity.BookChange;
+import com.example.quarkus.book.entity.BookImport;
+import com.example.quarkus.book.entity.BookIngestStatus;
+import com.example.quarkus.book.entity.BookReadModelStats;
+import com.example.quarkus.book.entity.ExpandedBook;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import javax.validation.Valid;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.NotFoundException;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
-import java.util.List;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
 
 @Path("/books")
 public class BookResource {
 
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String TEXT_CSV = "text/csv";
+    private static final int STREAM_FLUSH_ROWS = 500;
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String EXPAND = "expand";
+    private static final String EXPAND_AUTHOR = "author";
+
     @Inject
     BookController bookController;
 
+    @Inject
+    BlockingExecution blockingExecution;
+
+    @Inject
+    ContentCoding contentCoding;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    BookChangeLog changeLog;
+
+    @Inject
+    BookIngestQueue ingestQueue;
+
+    @Inject
+    BookReadModel readModel;
+
+    @Inject
+    BookImporter importer;
+
+    @Inject
+    BookIdempotency idempotency;
+
+    @ConfigProperty(name = "book.http.max-age-seconds", defaultValue = "0")
+    int maxAgeSeconds;
+
+    private ObjectWriter bookWriter;
+    private CacheControl cacheControl;
+    private CacheControl noStore;
+
+    @PostConstruct
+    void init() {
+        bookWriter = objectMapper.writerFor(Book.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        cacheControl = new CacheControl();
+        cacheControl.setNoTransform(false);
+        cacheControl.setMaxAge(maxAgeSeconds);
+        cacheControl.setMustRevalidate(true);
+        noStore = new CacheControl();
+        noStore.setNoTransform(false);
+        noStore.setNoStore(true);
+    }
+
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, JacksonBinaryWriter.APPLICATION_SMILE, JacksonBinaryWriter.APPLICATION_CBOR})
+    @Compressed
+    public CompletionStage<Response> findAll(@QueryParam("after") Long after, @QueryParam("limit") Integer limit, @QueryParam(EXPAND) String expand,
+                                             @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch, @Context HttpHeaders headers,
+                                             @Context UriInfo uriInfo) {
+        final boolean expandAuthor = expandAuthor(expand);
+        final BookRepresentation representation = BookRepresentation.of(headers, contentCoding);
+        return blockingExecution.run(() -> bookController.findAll(after, limit)).chain(books -> {
+            final Uni<Response.ResponseBuilder> response = expandAuthor
+                    ? expanded(books, expanded -> expanded, BookPreconditions.tag(books), ifNoneMatch, representation)
+                    : Uni.createFrom().item(conditional(books, BookPreconditions.tag(books), ifNoneMatch, representation));
+            return response.map(builder -> {
+                if (books.size() == bookController.pageSize(limit)) {
+                    final Long last = books.get(books.size() - 1).getId();
+                    builder.link(uriInfo.getRequestUriBuilder().replaceQueryParam("after", last).build(), "next");
+                }
+                return builder.build();
+            });
+        }).subscribeAsCompletionStage();
+    }
+
+    @GET
+    @Produces(APPLICATION_NDJSON + ";qs=0.5")
+    @Compressed
+    public StreamingOutput stream(@QueryParam("after") Long after) {
+        return ndjson(after);
+    }
+
+    /**
+     * The whole catalog, or the books after {@code after}, streamed from one database cursor.
+     */
+    @GET
+    @Path("/export")
+    @Produces(APPLICATION_NDJSON)
+    @Compressed
+    public StreamingOutput exportNdjson(@QueryParam("after") Long after) {
+        return ndjson(after);
+    }
+
+    @GET
+    @Path("/export")
+    @Produces(TEXT_CSV)
+    @Compressed
+    public StreamingOutput exportCsv(@QueryParam("after") Long after) {
+        return output -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.write(BookCsv.HEADER);
+            writer.write('\n');
+            final int[] rows = {0};
+            bookController.streamAll(after, book -> {
+                try {
+                    BookCsv.write(writer, book);
+                    if (++rows[0] % STREAM_FLUSH_ROWS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+    }
+
+    /**
+     * Resumable with the same body and {@code id}: rows already imported are skipped.
+     */
+    @POST
+    @Path("/import")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes({APPLICATION_NDJSON, TEXT_CSV})
+    public Response importBooks(@QueryParam("id") String id, @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+                                InputStream body, @Context UriInfo uriInfo) {
+        final String format = contentType != null && contentType.startsWith(TEXT_CSV) ? BookImporter.CSV : BookImporter.NDJSON;
+        final BookImport progress = importer.importBooks(id, format, body);
+        return Response.status(progress.getState() == BookImport.State.FAILED ? Response.Status.INTERNAL_SERVER_ERROR : Response.Status.OK)
+                .entity(progress)
+                .location(uriInfo.getAbsolutePathBuilder().path(progress.getId()).build())
+                .build();
+    }
+
     @GET
+    @Path("/import/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    public List<Book> findAll() {
-        return bookController.findAll();
+    public BookImport importStatus(@PathParam("id") String id) {
+        return importer.status(id).orElseThrow(() -> new NotFoundException("Import not found."));
+    }
+
+    @GET
+    @Path("/search")
+    @Produces({MediaType.APPLICATION_JSON, JacksonBinaryWriter.APPLICATION_SMILE, JacksonBinaryWriter.APPLICATION_CBOR})
+    @Compressed
+    public CompletionStage<List<Book>> search(@QueryParam("q") String query, @QueryParam("limit") Integer limit) {
+        return blockingExecution.run(() -> bookController.search(query, limit)).subscribeAsCompletionStage();
+    }
+
+    /**
+     * The next change is only taken from the log once the previous one has been written.
+     */
+    @GET
+    @Path("/changes")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void changes(@QueryParam("after") String after, @HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String lastEventId,
+                        @Context SseEventSink sink, @Context Sse sse) {
+        final long from = after != null ? changeLog.sequenceOf(after)
+                : lastEventId != null ? changeLog.sequenceOf(lastEventId) : changeLog.lastSequence();
+        changeLog.changes(from)
+                .onItem().transformToUniAndConcatenate(change -> Uni.createFrom().completionStage(() -> sink.send(sse.newEventBuilder()
+                        .id(changeLog.eventId(change.getSequence()))
+                        .name(change.getType().name())
+                        .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                        .data(BookChange.class, change)
+                        .build())))
+                .subscribe().with(sent -> { }, failure -> sink.close(), sink::close);
+    }
+
+    @GET
+    @Path("/read-model")
+    @Produces(MediaType.APPLICATION_JSON)
+    public BookReadModelStats readModelStats() {
+        return readModel.stats();
     }
 
     @GET
     @Path("/{id}")
+    @Produces({MediaType.APPLICATION_JSON, JacksonBinaryWriter.APPLICATION_SMILE, JacksonBinaryWriter.APPLICATION_CBOR})
+    @Compressed
+    public CompletionStage<Response> findOne(@PathParam("id") Long id, @QueryParam(EXPAND) String expand,
+                                             @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch, @Context HttpHeaders headers) {
+        final boolean expandAuthor = expandAuthor(expand);
+        final BookRepresentation representation = BookRepresentation.of(headers, contentCoding);
+        return bookController.findByIdAsync(id).chain(book -> expandAuthor
+                ? expanded(List.of(book), expanded -> expanded.get(0), BookPreconditions.tag(book), ifNoneMatch, representation)
+                : Uni.createFrom().item(conditional(book, BookPreconditions.tag(book), ifNoneMatch, representation)))
+                .map(Response.ResponseBuilder::build)
+                .subscribeAsCompletionStage();
+    }
+
+    @POST
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    public CompletionStage<Response> create(@HeaderParam(PREFER) String prefer, @HeaderParam(BookIdempotency.IDEMPOTENCY_KEY) String idempotencyKey,
+                                            @Valid Book book, @Context UriInfo uriInfo) {
+        final boolean respondAsync = respondAsync(prefer);
+        return idempotency.run(idempotencyKey, "POST /books", () -> fingerprint(book, respondAsync), () -> {
+            if (respondAsync) {
+                return ingestQueue.submitAsync(book).map(status -> Response.accepted(status)
+                        .location(uriInfo.getAbsolutePathBuilder().path("ingest").path(status.getTicket()).build())
+                        .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                        .build());
+            }
+            return bookController.createAsync(book).map(saved -> Response.ok(saved).build());
+        }).subscribeAsCompletionStage();
+    }
+
+    @GET
+    @Path("/ingest/{ticket}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Book findOne(@PathParam("id") Long id) {
-        return bookController.findById(id);
+    public BookIngestStatus ingestStatus(@PathParam("ticket") String ticket) {
+        return ingestQueue.status(ticket).orElseThrow(() -> new NotFoundException("Ingest ticket not found."));
     }
 
     @POST
+    @Path("/batch")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    public CompletionStage<List<BookBatchResult>> createAll(List<Book> books) {
+        return blockingExecution.run(() -> bookController.createAll(books)).subscribeAsCompletionStage();
+    }
+
+    @PUT
+    @Path("/batch")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    public CompletionStage<List<BookBatchResult>> updateAll(List<Book> books) {
+        return blockingExecution.run(() -> bookController.updateAll(books)).subscribeAsCompletionStage();
+    }
+
+    @DELETE
+    @Path("/batch")
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
-    public Book create(Book book) {
-        return bookController.create(book);
+    public CompletionStage<List<BookBatchResult>> deleteAll(List<Long> ids) {
+        return blockingExecution.run(() -> bookController.deleteAll(ids)).subscribeAsCompletionStage();
     }
 
     @PUT
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
-    public Book update(@PathParam("id") Long id, Book book) {
-        return bookController.update(id, book);
+    @Compressed
+    public CompletionStage<Response> update(@PathParam("id") Long id, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+                                            @HeaderParam(BookIdempotency.IDEMPOTENCY_KEY) String idempotencyKey, @Context HttpHeaders headers,
+                                            @Valid Book book) {
+        final Set<Long> expectedVersions = BookPreconditions.expectedVersions(ifMatch);
+        final BookRepresentation representation = BookRepresentation.of(headers, contentCoding);
+        return idempotency.run(idempotencyKey, "PUT /books/" + id, () -> fingerprint(book, expectedVersions),
+                () -> bookController.updateAsync(id, book, expectedVersions)
+                        .map(saved -> representation.ok(saved, representation.tag(BookPreconditions.tag(saved))).build()))
+                .subscribeAsCompletionStage();
     }
 
     @DELETE
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    public void delete(@PathParam("id") Long id) {
-        bookController.deleteById(id);
+    public CompletionStage<Void> delete(@PathParam("id") Long id, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
+        final Set<Long> expectedVersions = BookPreconditions.expectedVersions(ifMatch);
+        return blockingExecution.<Void>run(() -> {
+            bookController.deleteById(id, expectedVersions);
+            return null;
+        }).subscribeAsCompletionStage();
+    }
+
+    private StreamingOutput ndjson(final Long after) {
+        return output -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                generator.setRootValueSeparator(null);
+                final int[] rows = {0};
+                bookController.streamAll(after, book -> {
+                    try {
+                        bookWriter.writeValue(generator, book);
+                        generator.writeRaw('\n');
+                        if (++rows[0] % STREAM_FLUSH_ROWS == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+
+    private Response.ResponseBuilder conditional(final Object entity, final EntityTag untagged, final String ifNoneMatch,
+                                                 final BookRepresentation representation) {
+        final EntityTag tag = representation.tag(untagged);
+        if (BookPreconditions.notModified(ifNoneMatch, tag)) {
+            return representation.notModified(tag).cacheControl(cacheControl);
+        }
+        return representation.ok(entity, tag).cacheControl(cacheControl);
+    }
+
+    // Without the author service the authors are only what the books know: neither cached nor validated.
+    private Uni<Response.ResponseBuilder> expanded(final List<Book> books, final Function<List<ExpandedBook>, Object> entity,
+                                                   final EntityTag untagged, final String ifNoneMatch,
+                                                   final BookRepresentation representation) {
+        return bookController.expandAuthors(books)
+                .map(expanded -> conditional(entity.apply(expanded), BookPreconditions.withAuthors(untagged, expanded), ifNoneMatch, representation))
+                .onFailure().recoverWithItem(() -> representation.ok(entity.apply(bookController.expandAuthorsFromBooks(books))).cacheControl(noStore));
+    }
+
+    private static boolean expandAuthor(final String expand) {
+        if (expand == null || expand.isBlank()) {
+            return false;
+        }
+        for (String field : expand.split(",")) {
+            if (!EXPAND_AUTHOR.equals(field.trim())) {
+                throw new BadRequestException("Cannot expand " + field.trim() + ".");
+            }
+        }
+        return true;
+    }
+
+    // What a retry has to repeat for its Idempotency-Key to be honoured.
+    private String fingerprint(final Book book, final Object precondition) {
+        try {
+            return bookWriter.writeValueAsString(book) + ' ' + precondition;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean respondAsync(final String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split("[,;]")) {
+            if (RESPOND_ASYNC.equalsIgnoreCase(preference.trim())) {
+                return true;
+            }
+        }
+        return false;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.book.entity.Book;
+
+import java.util.function.Consumer;
+
+public interface BookStreamRepository {
+
+    void forEachAfter(long after, Consumer<Book> consumer);
+
+}
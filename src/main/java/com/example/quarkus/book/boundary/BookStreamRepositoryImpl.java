@@ -0,0 +1,47 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.book.entity.Book;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import java.util.function.Consumer;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+@ApplicationScoped
+public class BookStreamRepositoryImpl implements BookStreamRepository {
+
+    @Inject
+    EntityManager entityManager;
+
+    @ConfigProperty(name = "book.stream.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    @Override
+    @Transactional
+    public void forEachAfter(final long after, final Consumer<Book> consumer) {
+        final Session session = entityManager.unwrap(Session.class);
+        try (ScrollableResults results = session.createQuery("from Book b where b.id > :after order by b.id", Book.class)
+                .setParameter("after", after)
+                .setReadOnly(true)
+                // A full export must not evict the hot entries from the second-level cache.
+                .setCacheMode(CacheMode.IGNORE)
+                .setFetchSize(fetchSize)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            int rows = 0;
+            while (results.next()) {
+                consumer.accept((Book) results.get(0));
+                // Rows already handed to the consumer must not pile up in the persistence context.
+                if (++rows % fetchSize == 0) {
+                    session.clear();
+                }
+            }
+        }
+    }
+}
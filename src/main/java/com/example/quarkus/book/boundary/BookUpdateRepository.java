@@ -0,0 +1,9 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.book.entity.Book;
+
+public interface BookUpdateRepository {
+
+    Book updateIfUnchanged(Book book);
+
+}
@@ -0,0 +1,27 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.book.entity.Book;
+import org.hibernate.Session;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+@ApplicationScoped
+public class BookUpdateRepositoryImpl implements BookUpdateRepository {
+
+    @Inject
+    EntityManager entityManager;
+
+    /**
+     * One guarded UPDATE, without the SELECT a merge would issue; a stale version is an {@code OptimisticLockException}.
+     */
+    @Override
+    @Transactional
+    public Book updateIfUnchanged(final Book book) {
+        entityManager.unwrap(Session.class).update(book);
+        entityManager.flush();
+        return book;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.quarkus.book.boundary;
+
+import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.metrics.Measured;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Times the generated {@link BookRepository}, which can't carry interceptor bindings itself.
+ */
+@Measured("book.repository")
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class MeasuredBookRepository {
+
+    @Inject
+    BookRepository bookRepository;
+
+    public List<Book> findPage(final long after, final int limit) {
+        return bookRepository.findPage(after, limit);
+    }
+
+    public List<Book> findPageByAuthor(final long authorId, final long after, final int limit) {
+        return bookRepository.findPageByAuthor(authorId, after, limit);
+    }
+
+    public void forEachAfter(final long after, final Consumer<Book> consumer) {
+        bookRepository.forEachAfter(after, consumer);
+    }
+
+    public Optional<Book> findById(final Long id) {
+        return bookRepository.findById(id);
+    }
+
+    public List<Book> findAllById(final Iterable<Long> ids) {
+        return bookRepository.findAllById(ids);
+    }
+
+    public boolean existsById(final Long id) {
+        return bookRepository.existsById(id);
+    }
+
+    public Book save(final Book book) {
+        return bookRepository.save(book);
+    }
+
+    public List<Book> saveAll(final Iterable<Book> books) {
+        return bookRepository.saveAll(books);
+    }
+
+    public Book updateIfUnchanged(final Book book) {
+        return bookRepository.updateIfUnchanged(book);
+    }
+
+    /**
+     * Deletes and flushes, so a version conflict surfaces here rather than at commit.
+     */
+    public void delete(final Book book) {
+        bookRepository.delete(book);
+        bookRepository.flush();
+    }
+
+    public void deleteAll(final Iterable<Book> books) {
+        bookRepository.deleteAll(books);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.BlockingExecution;
+import com.example.quarkus.author.control.AuthorDirectory;
+import com.example.quarkus.author.entity.Author;
+import com.example.quarkus.book.boundary.BookRepository;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+/**
+ * Links books stored before {@code author_id} existed, in the background after startup.
+ */
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class BookAuthorBackfill {
+
+    private static final Logger LOG = Logger.getLogger(BookAuthorBackfill.class);
+
+    @Inject
+    BookRepository bookRepository;
+
+    @Inject
+    AuthorDirectory authorDirectory;
+
+    @Inject
+    BlockingExecution blockingExecution;
+
+    @Inject
+    BookReadModel readModel;
+
+    @ConfigProperty(name = "book.author-backfill.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "book.author-backfill.batch-size", defaultValue = "100")
+    int batchSize;
+
+    void onStart(@Observes StartupEvent ev) {
+        if (enabled) {
+            blockingExecution.run(this::backfill)
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                    .subscribe().with(linked -> { }, e -> LOG.warn("Author backfill failed", e));
+        }
+    }
+
+    public int backfill() {
+        int linked = 0;
+        String after = "";
+        try {
+            List<String> names;
+            while (!(names = bookRepository.findUnlinkedAuthors(after, batchSize)).isEmpty()) {
+                final Map<String, Author> authors = authorDirectory.findByNames(names);
+                for (Map.Entry<String, Author> author : authors.entrySet()) {
+                    if (author.getValue().getId() != null) {
+                        linked += bookRepository.linkAuthor(author.getKey(), author.getValue().getId());
+                        readModel.linkAuthor(author.getKey(), author.getValue().getId());
+                    }
+                }
+                after = names.get(names.size() - 1);
+            }
+            if (linked > 0) {
+                LOG.infof("Linked %d books to their author id", linked);
+            }
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Author backfill stopped after linking %d books", linked);
+        }
+        return linked;
+    }
+}
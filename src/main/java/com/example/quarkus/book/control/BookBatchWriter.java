@@ -0,0 +1,82 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.book.boundary.BookImportRepository;
+import com.example.quarkus.book.boundary.MeasuredBookRepository;
+import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.book.entity.BookImport;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+/**
+ * Writes one chunk of a batch per transaction, flushed as JDBC batches.
+ */
+@ApplicationScoped
+public class BookBatchWriter {
+
+    @Inject
+    MeasuredBookRepository bookRepository;
+
+    @Inject
+    BookImportRepository importRepository;
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<Book> insert(final List<Book> books) {
+        return bookRepository.saveAll(books);
+    }
+
+    /**
+     * The checkpoint moves in the same transaction, so a resumed import neither skips nor repeats a row.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<Book> insert(final List<Book> books, final String importId, final long rows, final long imported, final long failed) {
+        final List<Book> saved = bookRepository.saveAll(books);
+        final BookImport progress = importRepository.findById(importId).orElseThrow();
+        progress.setRows(rows);
+        progress.setImported(imported);
+        progress.setFailed(failed);
+        progress.setUpdatedAt(Instant.now());
+        return saved;
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public Map<Long, Book> update(final List<Book> books) {
+        final Map<Long, Book> saved = new HashMap<>();
+        for (Book book : bookRepository.findAllById(ids(books))) {
+            saved.put(book.getId(), book);
+        }
+        for (Book book : books) {
+            final Book existing = saved.get(book.getId());
+            if (existing != null) {
+                existing.setTitle(book.getTitle());
+                existing.setAuthor(book.getAuthor());
+                existing.setAuthorId(book.getAuthorId());
+            }
+        }
+        return saved;
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public Set<Long> delete(final Collection<Long> ids) {
+        final List<Book> existing = bookRepository.findAllById(ids);
+        bookRepository.deleteAll(existing);
+        return ids(existing);
+    }
+
+    private static Set<Long> ids(final Collection<Book> books) {
+        final Set<Long> ids = new HashSet<>();
+        for (Book book : books) {
+            ids.add(book.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.book.entity.Book;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Hit ratio and size of the Book entity region and the query cache.
+ */
+@ApplicationScoped
+public class BookCacheMetrics {
+
+    void register(@Observes StartupEvent ev, EntityManagerFactory entityManagerFactory, MeterRegistry registry) {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        final String region = Book.class.getName();
+
+        Gauge.builder("book.cache.hit.ratio", statistics, it -> ratio(it.getDomainDataRegionStatistics(region)))
+                .tag("region", "entity")
+                .register(registry);
+        Gauge.builder("book.cache.size", statistics, it -> it.getDomainDataRegionStatistics(region).getElementCountInMemory())
+                .tag("region", "entity")
+                .register(registry);
+        Gauge.builder("book.cache.hit.ratio", statistics, it -> ratio(it.getQueryCacheHitCount(), it.getQueryCacheMissCount()))
+                .tag("region", "query")
+                .register(registry);
+    }
+
+    private static double ratio(final CacheRegionStatistics region) {
+        return ratio(region.getHitCount(), region.getMissCount());
+    }
+
+    private static double ratio(final long hits, final long misses) {
+        final long requests = hits + misses;
+        return requests == 0 ? 0d : (double) hits / requests;
+    }
+}
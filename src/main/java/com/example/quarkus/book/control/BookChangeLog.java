@@ -0,0 +1,141 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.book.entity.BookChange;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.core.Response;
+
+/**
+ * Lock-free ring of the latest book changes; readers that fall a whole ring behind get 410 Gone.
+ */
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class BookChangeLog {
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "book.changes.capacity", defaultValue = "4096")
+    int capacity;
+
+    @ConfigProperty(name = "book.changes.read-size", defaultValue = "256")
+    int readSize;
+
+    // Sequences restart with the process.
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicReference<CompletableFuture<Void>> signal = new AtomicReference<>(new CompletableFuture<>());
+    private AtomicReferenceArray<BookChange> slots;
+    private int mask;
+
+    @PostConstruct
+    void init() {
+        final int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+        Gauge.builder("book.changes.sequence", sequence, AtomicLong::get).register(registry);
+    }
+
+    public long publish(final BookChange change) {
+        final long next = sequence.incrementAndGet();
+        change.setSequence(next);
+        slots.set((int) (next & mask), change);
+        signal.getAndSet(new CompletableFuture<>()).complete(null);
+        return next;
+    }
+
+    public long lastSequence() {
+        return sequence.get();
+    }
+
+    public String eventId(final long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    public long sequenceOf(final String eventId) {
+        final String id = eventId.trim();
+        final int dash = id.indexOf('-');
+        final long idEpoch;
+        final long idSequence;
+        try {
+            idEpoch = dash < 0 ? -1L : Long.parseLong(id.substring(0, dash));
+            idSequence = Long.parseLong(id.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid event id.");
+        }
+        if (idEpoch != epoch) {
+            throw new ClientErrorException("Changes after " + id + " are no longer available.", Response.Status.GONE);
+        }
+        return idSequence;
+    }
+
+    public Multi<BookChange> changes(final long after) {
+        checkRetained(after);
+        final AtomicLong cursor = new AtomicLong(after);
+        return Multi.createBy().repeating()
+                .uni(() -> next(cursor))
+                .indefinitely()
+                .onItem().<BookChange>disjoint();
+    }
+
+    private Uni<List<BookChange>> next(final AtomicLong cursor) {
+        return Uni.createFrom().deferred(() -> {
+            // Taken before reading, so a change published in between is not missed.
+            final CompletableFuture<Void> published = signal.get();
+            final List<BookChange> changes = read(cursor.get());
+            if (!changes.isEmpty()) {
+                cursor.set(changes.get(changes.size() - 1).getSequence());
+                return Uni.createFrom().item(changes);
+            }
+            // A copy, so a cancelled reader does not cancel the shared signal.
+            return Uni.createFrom().completionStage(published.thenApply(ignored -> Collections.<BookChange>emptyList()))
+                    .emitOn(Infrastructure.getDefaultWorkerPool());
+        });
+    }
+
+    private List<BookChange> read(final long after) {
+        checkRetained(after);
+        final long last = Math.min(sequence.get(), after + readSize);
+        final List<BookChange> changes = new ArrayList<>((int) Math.max(0, last - after));
+        for (long next = after + 1; next <= last; next++) {
+            final BookChange change = slots.get((int) (next & mask));
+            if (change == null || change.getSequence() < next) {
+                // Claimed but not stored yet: the writer completes the signal once it is.
+                break;
+            }
+            if (change.getSequence() > next) {
+                throw gone(after);
+            }
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    private void checkRetained(final long after) {
+        if (after < 0 || after > sequence.get() || sequence.get() - after > mask + 1) {
+            throw gone(after);
+        }
+    }
+
+    private static ClientErrorException gone(final long after) {
+        return new ClientErrorException("Changes after " + after + " are no longer available.", Response.Status.GONE);
+    }
+}
@@ -1,57 +1,507 @@
 package com.example.quarkus.book.control;
 
-import com.example.quarkus.author.boundary.AuthorService;
-import com.example.quarkus.book.boundary.BookRepository;
+import com.example.quarkus.BlockingExecution;
+import com.example.quarkus.author.control.AuthorDirectory;
+import com.example.quarkus.author.entity.Author;
+import com.example.quarkus.book.boundary.MeasuredBookRepository;
 import com.example.quarkus.book.entity.Book;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
+import com.example.quarkus.book.entity.BookBatchResult;
+import com.example.quarkus.book.entity.BookChange;
+import com.example.quarkus.book.entity.ExpandedBook;
+import com.example.quarkus.metrics.Measured;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.persistence.OptimisticLockException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transactional;
+import javax.transaction.TransactionSynchronizationRegistry;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.core.Response;
 
 @ApplicationScoped
 @SuppressWarnings("CdiInjectionPointsInspection")
 public class BookController {
 
+    private static final Logger LOG = Logger.getLogger(BookController.class);
+
+    @Inject
+    MeasuredBookRepository bookRepository;
+
+    @Inject
+    BookBatchWriter bookBatchWriter;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    AuthorDirectory authorDirectory;
+
+    @Inject
+    BlockingExecution blockingExecution;
+
     @Inject
-    BookRepository bookRepository;
+    BookSearchIndex searchIndex;
 
     @Inject
-    @RestClient
-    AuthorService authorService;
+    BookChangeLog changeLog;
+
+    @Inject
+    BookReadModel readModel;
+
+    @Inject
+    TransactionSynchronizationRegistry transactions;
+
+    @ConfigProperty(name = "book.page.default-size", defaultValue = "100")
+    int defaultPageSize;
+
+    @ConfigProperty(name = "book.page.max-size", defaultValue = "1000")
+    int maxPageSize;
+
+    @ConfigProperty(name = "book.batch.chunk-size", defaultValue = "500")
+    int batchChunkSize;
+
+    @ConfigProperty(name = "book.batch.max-size", defaultValue = "10000")
+    int batchMaxSize;
+
+    @ConfigProperty(name = "book.search.default-size", defaultValue = "20")
+    int defaultSearchSize;
+
+    @ConfigProperty(name = "book.search.max-size", defaultValue = "100")
+    int maxSearchSize;
 
-    public List<Book> findAll() {
-        return bookRepository.findAll();
+    @Measured("book.controller")
+    public List<Book> findAll(Long after, Integer limit) {
+        if (readModel.isReady()) {
+            return readModel.findPage(after == null ? 0L : after, pageSize(limit));
+        }
+        return bookRepository.findPage(after == null ? 0L : after, pageSize(limit));
     }
 
+    @Measured("book.controller")
+    public List<Book> findByAuthor(Long authorId, Long after, Integer limit) {
+        return bookRepository.findPageByAuthor(authorId, after == null ? 0L : after, pageSize(limit));
+    }
+
+    public int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * Fails when the author service cannot be reached; {@link #expandAuthorsFromBooks(List)} is the fallback.
+     */
+    @Measured("book.controller")
+    public Uni<List<ExpandedBook>> expandAuthors(List<Book> books) {
+        final Set<String> names = new HashSet<>();
+        for (Book book : books) {
+            if (book.getAuthor() != null) {
+                names.add(book.getAuthor());
+            }
+        }
+        final Uni<Map<String, Author>> authors = names.isEmpty()
+                ? Uni.createFrom().item(Collections.emptyMap())
+                : authorDirectory.findByNamesAsync(names).onFailure().invoke(e ->
+                        LOG.warnf("Expanding %d authors without the author service: %s", names.size(), e.getMessage()));
+        return authors.map(found -> expand(books, found));
+    }
+
+    /**
+     * {@code books} with their authors embedded as far as the books know them.
+     */
+    public List<ExpandedBook> expandAuthorsFromBooks(List<Book> books) {
+        return expand(books, Collections.emptyMap());
+    }
+
+    private static List<ExpandedBook> expand(final List<Book> books, final Map<String, Author> authors) {
+        return books.stream()
+                .map(book -> ExpandedBook.of(book, author(book, authors)))
+                .collect(Collectors.toList());
+    }
+
+    private static Author author(final Book book, final Map<String, Author> authors) {
+        if (book.getAuthor() == null) {
+            return null;
+        }
+        final Author found = authors.get(book.getAuthor());
+        if (found != null) {
+            return found;
+        }
+        final Author author = new Author();
+        author.setId(book.getAuthorId());
+        author.setName(book.getAuthor());
+        return author;
+    }
+
+    @Measured("book.controller")
+    public List<Book> search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Missing query.");
+        }
+        if (!searchIndex.isReady()) {
+            throw new ServiceUnavailableException(1L);
+        }
+        final int size = limit == null || limit <= 0 ? defaultSearchSize : Math.min(limit, maxSearchSize);
+        final List<Long> ids = searchIndex.search(query, size);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return bookRepository.findAllById(ids).stream()
+                .filter(book -> BookSearchIndex.matches(book.getTitle(), query))
+                .sorted(Comparator.comparing(Book::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Measured("book.controller")
+    public void streamAll(Long after, Consumer<Book> consumer) {
+        bookRepository.forEachAfter(after == null ? 0L : after, consumer);
+    }
+
+    @Measured("book.controller")
     public Book findById(Long id) {
+        if (readModel.isReady()) {
+            return readModel.findById(id).orElseThrow(() -> new NotFoundException("Book not found."));
+        }
+        return load(id);
+    }
+
+    private Book load(Long id) {
         return bookRepository.findById(id).orElseThrow(() -> new NotFoundException("Book not found."));
     }
 
+    @Measured("book.controller")
+    public Uni<Book> findByIdAsync(Long id) {
+        return blockingExecution.run(() -> findById(id));
+    }
+
+    @Measured("book.controller")
     public Book create(Book book) {
         validateAuthor(book);
-        return bookRepository.save(book);
+        return changed(BookChange.Type.CREATED, bookRepository.save(book));
+    }
+
+    @Measured("book.controller")
+    public Uni<Book> createAsync(Book book) {
+        return validateAuthorAsync(book).chain(() -> blockingExecution.run(() -> changed(BookChange.Type.CREATED, bookRepository.save(book))));
     }
 
-    public Book update(Long id, Book book) {
+    @Measured("book.controller")
+    public Book update(Long id, Book book, Set<Long> expectedVersions) {
         validateAuthor(book);
-        final Book saved = findById(id);
-        saved.setTitle(book.getTitle());
-        saved.setAuthor(book.getAuthor());
+        return save(id, book, expectedVersions);
+    }
+
+    @Measured("book.controller")
+    public Uni<Book> updateAsync(Long id, Book book, Set<Long> expectedVersions) {
+        return validateAuthorAsync(book).chain(() -> blockingExecution.run(() -> save(id, book, expectedVersions)));
+    }
+
+    // Without If-Match the version read here is the guard, so a concurrent writer gets a 409, not a lost update.
+    private Book save(Long id, Book book, Set<Long> expectedVersions) {
+        final Book changed = new Book();
+        changed.setId(id);
+        changed.setTitle(book.getTitle());
+        changed.setAuthor(book.getAuthor());
+        changed.setAuthorId(book.getAuthorId());
+        changed.setVersion(expectedVersions != null && expectedVersions.size() == 1
+                ? expectedVersions.iterator().next()
+                : checkVersion(findById(id, expectedVersions), expectedVersions).getVersion());
 
-        return bookRepository.save(saved);
+        try {
+            return changed(BookChange.Type.UPDATED, bookRepository.updateIfUnchanged(changed));
+        } catch (OptimisticLockException e) {
+            if (expectedVersions == null && !bookRepository.existsById(id)) {
+                throw new NotFoundException("Book not found.");
+            }
+            throw modified(expectedVersions);
+        }
     }
 
     private void validateAuthor(final Book book) {
-        authorService.listAuthors().stream()
-                .filter(it -> it.getName().equals(book.getAuthor()))
-                .findAny().orElseThrow(() -> new BadRequestException("Invalid Author."));
+        book.setAuthorId(authorDirectory.findByName(book.getAuthor()).orElseThrow(() -> new BadRequestException("Invalid Author.")).getId());
+    }
+
+    private Uni<Void> validateAuthorAsync(final Book book) {
+        return authorDirectory.findByNameAsync(book.getAuthor())
+                .map(author -> author.orElseThrow(() -> new BadRequestException("Invalid Author.")))
+                .invoke(author -> book.setAuthorId(author.getId()))
+                .replaceWithVoid();
+    }
+
+    @Measured("book.controller")
+    @Transactional
+    public void deleteById(Long id, Set<Long> expectedVersions) {
+        // Managed, unlike a book from the read model, so that it can be removed.
+        final Book existing = checkVersion(find(id, expectedVersions, this::load), expectedVersions);
+        try {
+            bookRepository.delete(existing);
+        } catch (OptimisticLockException e) {
+            throw modified(expectedVersions);
+        }
+        deleted(id);
+    }
+
+    private Book changed(final BookChange.Type type, final Book book) {
+        afterCommit(() -> {
+            searchIndex.index(book);
+            readModel.put(book);
+            changeLog.publish(BookChange.of(type, book.getId(), book));
+        });
+        return book;
+    }
+
+    private void deleted(final Long id) {
+        afterCommit(() -> {
+            searchIndex.remove(id);
+            readModel.remove(id);
+            changeLog.publish(BookChange.of(BookChange.Type.DELETED, id, null));
+        });
+    }
+
+    private void afterCommit(final Runnable action) {
+        if (transactions.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+            action.run();
+            return;
+        }
+        transactions.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private Book findById(final Long id, final Set<Long> expectedVersions) {
+        return find(id, expectedVersions, this::findById);
+    }
+
+    // If-Match never matches a missing book.
+    private static Book find(final Long id, final Set<Long> expectedVersions, final Function<Long, Book> finder) {
+        try {
+            return finder.apply(id);
+        } catch (NotFoundException e) {
+            if (expectedVersions == null) {
+                throw e;
+            }
+            throw modified(expectedVersions);
+        }
+    }
+
+    /**
+     * {@code expectedVersions} is {@code null} without If-Match and empty for {@code If-Match: *}.
+     */
+    private static Book checkVersion(final Book book, final Set<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.isEmpty() && !expectedVersions.contains(book.getVersion())) {
+            throw modified(expectedVersions);
+        }
+        return book;
+    }
+
+    private static ClientErrorException modified(final Set<Long> expectedVersions) {
+        // With If-Match the client asked for a precondition; without it the write lost a race with another one.
+        return new ClientErrorException("Book was modified.",
+                expectedVersions == null ? Response.Status.CONFLICT : Response.Status.PRECONDITION_FAILED);
+    }
+
+    @Measured("book.controller")
+    public List<BookBatchResult> createAll(List<Book> books) {
+        checkBatchSize(books);
+        final BookBatchResult[] results = new BookBatchResult[books.size()];
+        for (List<Integer> chunk : chunks(validate(books, results, false))) {
+            try {
+                final List<Book> saved = bookBatchWriter.insert(select(books, chunk));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = BookBatchResult.success(chunk.get(i), saved.get(i).getId(), 201);
+                    changed(BookChange.Type.CREATED, saved.get(i));
+                }
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Could not insert a chunk of %d books", chunk.size());
+                for (Integer index : chunk) {
+                    results[index] = BookBatchResult.failure(index, null, 500, e.getMessage());
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Returns the indexes of the accepted books; rejected ones get their result in {@code results}.
+     */
+    public List<Integer> validateNew(List<Book> books, BookBatchResult[] results) {
+        return validate(books, results, false);
+    }
+
+    /**
+     * Inserts validated books of the import {@code importId} and moves its checkpoint to the given counts.
+     */
+    @Measured("book.controller")
+    public List<Book> importChunk(String importId, List<Book> books, long rows, long imported, long failed) {
+        final List<Book> saved = bookBatchWriter.insert(books, importId, rows, imported, failed);
+        afterCommit(() -> {
+            for (Book book : saved) {
+                searchIndex.index(book);
+                readModel.put(book);
+            }
+            if (!saved.isEmpty()) {
+                changeLog.publish(BookChange.imported(importId, saved.size()));
+            }
+        });
+        return saved;
+    }
+
+    @Measured("book.controller")
+    public List<BookBatchResult> updateAll(List<Book> books) {
+        checkBatchSize(books);
+        final BookBatchResult[] results = new BookBatchResult[books.size()];
+        for (List<Integer> chunk : chunks(validate(books, results, true))) {
+            try {
+                final Map<Long, Book> updated = bookBatchWriter.update(select(books, chunk));
+                for (Integer index : chunk) {
+                    final Long id = books.get(index).getId();
+                    if (updated.containsKey(id)) {
+                        results[index] = BookBatchResult.success(index, id, 200);
+                        changed(BookChange.Type.UPDATED, updated.get(id));
+                    } else {
+                        results[index] = BookBatchResult.failure(index, id, 404, "Book not found.");
+                    }
+                }
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Could not update a chunk of %d books", chunk.size());
+                for (Integer index : chunk) {
+                    results[index] = BookBatchResult.failure(index, books.get(index).getId(), 500, e.getMessage());
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Measured("book.controller")
+    public List<BookBatchResult> deleteAll(List<Long> ids) {
+        checkBatchSize(ids);
+        final BookBatchResult[] results = new BookBatchResult[ids.size()];
+        final List<Integer> accepted = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = BookBatchResult.failure(i, null, 400, "Missing id.");
+            } else {
+                accepted.add(i);
+            }
+        }
+        for (List<Integer> chunk : chunks(accepted)) {
+            try {
+                final Set<Long> deleted = bookBatchWriter.delete(select(ids, chunk));
+                for (Integer index : chunk) {
+                    final Long id = ids.get(index);
+                    if (deleted.contains(id)) {
+                        results[index] = BookBatchResult.success(index, id, 204);
+                        deleted(id);
+                    } else {
+                        results[index] = BookBatchResult.failure(index, id, 404, "Book not found.");
+                    }
+                }
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Could not delete a chunk of %d books", chunk.size());
+                for (Integer index : chunk) {
+                    results[index] = BookBatchResult.failure(index, ids.get(index), 500, e.getMessage());
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void checkBatchSize(final List<?> items) {
+        if (items == null) {
+            throw new BadRequestException("Missing batch.");
+        }
+        if (items.size() > batchMaxSize) {
+            throw new ClientErrorException("Batch exceeds " + batchMaxSize + " items.", Response.Status.REQUEST_ENTITY_TOO_LARGE);
+        }
+    }
+
+    private List<Integer> validate(final List<Book> books, final BookBatchResult[] results, final boolean requireId) {
+        final Set<String> names = new HashSet<>();
+        for (Book book : books) {
+            if (book != null && book.getAuthor() != null) {
+                names.add(book.getAuthor());
+            }
+        }
+        final Map<String, Author> authors = names.isEmpty() ? Collections.emptyMap() : authorDirectory.findByNames(names);
+        final List<Integer> accepted = new ArrayList<>(books.size());
+        for (int i = 0; i < books.size(); i++) {
+            final Book book = books.get(i);
+            final String error = validationError(book, requireId, authors);
+            if (error == null) {
+                book.setAuthorId(authors.get(book.getAuthor()).getId());
+                accepted.add(i);
+            } else {
+                results[i] = BookBatchResult.failure(i, book == null ? null : book.getId(), 400, error);
+            }
+        }
+        return accepted;
+    }
+
+    private String validationError(final Book book, final boolean requireId, final Map<String, Author> authors) {
+        if (book == null) {
+            return "Missing book.";
+        }
+        if (requireId && book.getId() == null) {
+            return "Missing id.";
+        }
+        final Set<ConstraintViolation<Book>> violations = validator.validate(book);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(it -> it.getPropertyPath() + " " + it.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (book.getAuthor() == null || !authors.containsKey(book.getAuthor())) {
+            return "Invalid Author.";
+        }
+        return null;
+    }
+
+    private List<List<Integer>> chunks(final List<Integer> indexes) {
+        final List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += batchChunkSize) {
+            chunks.add(indexes.subList(from, Math.min(from + batchChunkSize, indexes.size())));
+        }
+        return chunks;
     }
 
-    public void deleteById(Long id) {
-        bookRepository.deleteById(id);
+    private static <T> List<T> select(final List<T> items, final List<Integer> indexes) {
+        final List<T> selected = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            selected.add(items.get(index));
+        }
+        return selected;
     }
 }
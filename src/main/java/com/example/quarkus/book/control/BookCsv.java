@@ -0,0 +1,86 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.book.entity.Book;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV for books, with columns read by header name.
+ */
+public final class BookCsv {
+
+    public static final String HEADER = "id,title,author,author_id,version";
+
+    private BookCsv() {
+    }
+
+    public static void write(final Writer writer, final Book book) throws IOException {
+        writer.write(book.getId() == null ? "" : book.getId().toString());
+        writer.write(',');
+        writeField(writer, book.getTitle());
+        writer.write(',');
+        writeField(writer, book.getAuthor());
+        writer.write(',');
+        writer.write(book.getAuthorId() == null ? "" : book.getAuthorId().toString());
+        writer.write(',');
+        writer.write(book.getVersion() == null ? "" : book.getVersion().toString());
+        writer.write('\n');
+    }
+
+    /**
+     * The fields of the next record, or {@code null} at the end of the input. Quoted fields may span lines.
+     */
+    public static List<String> read(final Reader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted CSV field.");
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void writeField(final Writer writer, final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.book.boundary.BookImportRepository;
+import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.book.entity.BookBatchResult;
+import com.example.quarkus.book.entity.BookImport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.core.Response;
+
+/**
+ * Streaming, resumable bulk import of books from NDJSON or CSV, validated in parallel and written in order.
+ */
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class BookImporter {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+    private static final Logger LOG = Logger.getLogger(BookImporter.class);
+    private static final int PROGRESS_LOG_ROWS = 100_000;
+
+    @Inject
+    BookController bookController;
+
+    @Inject
+    BookImportRepository importRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "book.import.chunk-size", defaultValue = "500")
+    int chunkSize;
+
+    @ConfigProperty(name = "book.import.parallelism", defaultValue = "4")
+    int parallelism;
+
+    @ConfigProperty(name = "book.import.max-errors", defaultValue = "100")
+    int maxErrors;
+
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private ObjectReader bookReader;
+
+    @PostConstruct
+    void init() {
+        bookReader = objectMapper.readerFor(Book.class);
+    }
+
+    public BookImport importBooks(final String id, final String format, final InputStream input) {
+        final String importId = id == null || id.isBlank() ? UUID.randomUUID().toString() : id;
+        if (!running.add(importId)) {
+            throw new ClientErrorException("Import " + importId + " is running.", Response.Status.CONFLICT);
+        }
+        try {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            final Rows<?> rows = CSV.equals(format) ? csv(reader) : ndjson(reader);
+            final BookImport progress = start(importId, format);
+            if (progress.getState() == BookImport.State.DONE) {
+                return progress;
+            }
+            try {
+                run(progress, rows);
+                progress.setState(BookImport.State.DONE);
+            } catch (RuntimeException | IOException e) {
+                LOG.warnf(e, "Import %s stopped after %d rows", importId, progress.getRows());
+                progress.setState(BookImport.State.FAILED);
+                progress.setError(e instanceof CompletionException && e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+            progress.setUpdatedAt(Instant.now());
+            return finish(progress);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            running.remove(importId);
+        }
+    }
+
+    public Optional<BookImport> status(final String id) {
+        return importRepository.findById(id);
+    }
+
+    private <T> void run(final BookImport progress, final Rows<T> rows) throws IOException {
+        final long skip = progress.getRows();
+        final Deque<CompletableFuture<Chunk>> pending = new ArrayDeque<>();
+        long row = 0;
+        List<T> chunk = new ArrayList<>(chunkSize);
+        long chunkStart = skip;
+        T record;
+        while ((record = rows.next()) != null) {
+            if (row++ < skip) {
+                continue;
+            }
+            chunk.add(record);
+            if (chunk.size() == chunkSize) {
+                pending.add(validateAsync(rows, chunkStart, chunk));
+                chunkStart += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+                if (pending.size() > parallelism) {
+                    write(progress, pending.poll().join());
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            pending.add(validateAsync(rows, chunkStart, chunk));
+        }
+        while (!pending.isEmpty()) {
+            write(progress, pending.poll().join());
+        }
+    }
+
+    private <T> CompletableFuture<Chunk> validateAsync(final Rows<T> rows, final long firstRow, final List<T> records) {
+        return CompletableFuture.supplyAsync(() -> {
+            final Chunk chunk = new Chunk(firstRow, records.size());
+            final List<Book> books = new ArrayList<>(records.size());
+            final List<Long> bookRows = new ArrayList<>(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                try {
+                    books.add(rows.parse(records.get(i)));
+                    bookRows.add(firstRow + i);
+                } catch (IOException | RuntimeException e) {
+                    chunk.failures.add(BookBatchResult.failure((int) (firstRow + i), null, 400, "Unreadable row: " + e.getMessage()));
+                }
+            }
+            final BookBatchResult[] results = new BookBatchResult[books.size()];
+            for (Integer index : bookController.validateNew(books, results)) {
+                chunk.valid.add(books.get(index));
+            }
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] != null) {
+                    chunk.failures.add(BookBatchResult.failure(bookRows.get(i).intValue(), null, 400, results[i].getError()));
+                }
+            }
+            chunk.failures.sort(Comparator.comparingInt(BookBatchResult::getIndex));
+            return chunk;
+        }, Infrastructure.getDefaultWorkerPool());
+    }
+
+    private void write(final BookImport progress, final Chunk chunk) {
+        final long rows = chunk.firstRow + chunk.size;
+        final long imported = progress.getImported() + chunk.valid.size();
+        final long failed = progress.getFailed() + chunk.failures.size();
+        bookController.importChunk(progress.getId(), chunk.valid, rows, imported, failed);
+        progress.setRows(rows);
+        progress.setImported(imported);
+        progress.setFailed(failed);
+        for (BookBatchResult failure : chunk.failures) {
+            if (progress.getErrors().size() < maxErrors) {
+                progress.getErrors().add(failure);
+            }
+        }
+        if (rows / PROGRESS_LOG_ROWS != chunk.firstRow / PROGRESS_LOG_ROWS) {
+            LOG.infof("Import %s: %d rows, %d imported, %d failed", progress.getId(), rows, imported, failed);
+        }
+    }
+
+    private BookImport start(final String id, final String format) {
+        final BookImport progress = importRepository.findById(id).orElseGet(() -> {
+            final BookImport created = new BookImport();
+            created.setId(id);
+            created.setFormat(format);
+            created.setStartedAt(Instant.now());
+            return created;
+        });
+        if (progress.getState() == BookImport.State.DONE) {
+            return progress;
+        }
+        if (progress.getFormat() != null && !progress.getFormat().equals(format)) {
+            throw new BadRequestException("Import " + id + " was started from " + progress.getFormat() + ".");
+        }
+        progress.setState(BookImport.State.RUNNING);
+        progress.setError(null);
+        progress.setUpdatedAt(Instant.now());
+        return finish(progress);
+    }
+
+    private BookImport finish(final BookImport progress) {
+        final List<BookBatchResult> errors = progress.getErrors();
+        final BookImport saved = importRepository.save(progress);
+        saved.setErrors(errors);
+        return saved;
+    }
+
+    private Rows<String> ndjson(final BufferedReader reader) {
+        return new Rows<>() {
+            @Override
+            public String next() throws IOException {
+                String line;
+                do {
+                    line = reader.readLine();
+                } while (line != null && line.isBlank());
+                return line;
+            }
+
+            @Override
+            public Book parse(final String record) throws IOException {
+                final Book book = bookReader.readValue(record);
+                book.setId(null);
+                book.setVersion(null);
+                return book;
+            }
+        };
+    }
+
+    private Rows<List<String>> csv(final BufferedReader reader) throws IOException {
+        final List<String> header = BookCsv.read(reader);
+        final int title = header == null ? -1 : header.indexOf("title");
+        final int author = header == null ? -1 : header.indexOf("author");
+        if (title < 0 || author < 0) {
+            throw new BadRequestException("CSV needs a header with title and author columns.");
+        }
+        return new Rows<>() {
+            @Override
+            public List<String> next() throws IOException {
+                return BookCsv.read(reader);
+            }
+
+            @Override
+            public Book parse(final List<String> record) {
+                final Book book = new Book();
+                book.setTitle(field(record, title));
+                book.setAuthor(field(record, author));
+                return book;
+            }
+        };
+    }
+
+    private static String field(final List<String> fields, final int index) {
+        return index < fields.size() && !fields.get(index).isEmpty() ? fields.get(index) : null;
+    }
+
+    private interface Rows<T> {
+
+        T next() throws IOException;
+
+        Book parse(T record) throws IOException;
+    }
+
+    private static final class Chunk {
+
+        private final long firstRow;
+        private final int size;
+        private final List<Book> valid = new ArrayList<>();
+        private final List<BookBatchResult> failures = new ArrayList<>();
+
+        private Chunk(final long firstRow, final int size) {
+            this.firstRow = firstRow;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.BlockingExecution;
+import com.example.quarkus.author.control.AuthorDirectory;
+import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.book.entity.BookBatchResult;
+import com.example.quarkus.book.entity.BookIngestStatus;
+import com.example.quarkus.metrics.OperationTimer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ServiceUnavailableException;
+
+/**
+ * Journaled write-behind queue for {@code Prefer: respond-async} creates, written in batches at least once.
+ */
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class BookIngestQueue {
+
+    private static final Logger LOG = Logger.getLogger(BookIngestQueue.class);
+    private static final long SWEEP_INTERVAL_MILLIS = 10_000L;
+    private static final long MIN_RETRY_DELAY_MILLIS = 100L;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000L;
+
+    @Inject
+    BookController bookController;
+
+    @Inject
+    AuthorDirectory authorDirectory;
+
+    @Inject
+    BlockingExecution blockingExecution;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "book.ingest.queue-size", defaultValue = "10000")
+    int queueSize;
+
+    @ConfigProperty(name = "book.ingest.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "book.ingest.max-delay-millis", defaultValue = "50")
+    long maxDelayMillis;
+
+    @ConfigProperty(name = "book.ingest.status-ttl", defaultValue = "10m")
+    Duration statusTtl;
+
+    @ConfigProperty(name = "book.ingest.journal", defaultValue = "book-ingest.ndjson")
+    String journalPath;
+
+    private final Map<String, BookIngestStatus> statuses = new ConcurrentHashMap<>();
+    private final Object journalLock = new Object();
+    private final BlockingQueue<Pending> unsynced = new LinkedBlockingQueue<>();
+    private BlockingQueue<Pending> queue;
+    // A permit per book journaled but not written yet, so the journal is only reset when it holds nothing to replay.
+    private Semaphore capacity;
+    private FileChannel journal;
+    private OperationTimer batchTimer;
+    private OperationTimer syncTimer;
+    private Thread syncer;
+    private Thread writer;
+    private volatile boolean running;
+    private long lastSweep;
+
+    @PostConstruct
+    void init() {
+        queue = new LinkedBlockingQueue<>(queueSize);
+        capacity = new Semaphore(queueSize);
+        batchTimer = OperationTimer.register(registry, "book.ingest", "batch");
+        syncTimer = OperationTimer.register(registry, "book.ingest", "sync");
+        Gauge.builder("book.ingest.queue.size", () -> queue.size()).register(registry);
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        final List<Pending> replayed = replay(Paths.get(journalPath));
+        running = true;
+        syncer = new Thread(this::sync, "book-ingest-syncer");
+        syncer.setDaemon(true);
+        syncer.start();
+        writer = new Thread(() -> drain(replayed), "book-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    void onStop(@Observes ShutdownEvent ev) throws InterruptedException, IOException {
+        running = false;
+        if (syncer != null) {
+            syncer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        synchronized (journalLock) {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    public Uni<BookIngestStatus> submitAsync(final Book book) {
+        return authorDirectory.findByNameAsync(book.getAuthor())
+                .map(author -> author.orElseThrow(() -> new BadRequestException("Invalid Author.")))
+                .chain(author -> blockingExecution.run(() -> {
+                    book.setAuthorId(author.getId());
+                    return submit(book);
+                }))
+                .chain(pending -> Uni.createFrom().completionStage(pending.synced).replaceWith(pending.status));
+    }
+
+    public Optional<BookIngestStatus> status(final String ticket) {
+        return Optional.ofNullable(statuses.get(ticket));
+    }
+
+    // Appended without syncing: the syncer forces the journal once for every book appended meanwhile.
+    private Pending submit(final Book book) {
+        if (!running || !capacity.tryAcquire()) {
+            throw new ServiceUnavailableException(1L);
+        }
+        final Pending pending = new Pending(UUID.randomUUID().toString(), book, true);
+        final ObjectNode entry = entry(pending);
+        statuses.put(pending.ticket, pending.status);
+        synchronized (journalLock) {
+            try {
+                append(entry);
+            } catch (IOException e) {
+                statuses.remove(pending.ticket);
+                capacity.release();
+                throw new UncheckedIOException(e);
+            }
+        }
+        unsynced.add(pending);
+        return pending;
+    }
+
+    private void sync() {
+        final List<Pending> group = new ArrayList<>();
+        while (running || !unsynced.isEmpty()) {
+            try {
+                final Pending first = unsynced.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                unsynced.drainTo(group);
+                final long start = System.nanoTime();
+                try {
+                    journal().force(false);
+                    syncTimer.success(start);
+                } catch (IOException e) {
+                    syncTimer.error(start);
+                    LOG.errorf(e, "Could not sync %d books to the ingest journal", group.size());
+                    for (Pending pending : group) {
+                        statuses.remove(pending.ticket);
+                        capacity.release();
+                        pending.synced.completeExceptionally(new UncheckedIOException(e));
+                    }
+                    continue;
+                }
+                for (Pending pending : group) {
+                    queue.add(pending);
+                    pending.synced.complete(null);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void drain(final List<Pending> replayed) {
+        try {
+            for (int i = 0; i < replayed.size(); i += batchSize) {
+                if (!write(replayed.subList(i, Math.min(replayed.size(), i + batchSize)))) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        final List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                final Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    collect(batch);
+                    if (!write(batch)) {
+                        return;
+                    }
+                    batch.clear();
+                }
+                compactIfIdle();
+                sweep();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.error("Book ingest writer failed", e);
+            }
+        }
+    }
+
+    private void collect(final List<Pending> batch) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            final long remaining = deadline - System.nanoTime();
+            final Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    // False if shutdown came first.
+    private boolean write(final List<Pending> batch) throws InterruptedException {
+        List<Pending> remaining = batch;
+        long delay = MIN_RETRY_DELAY_MILLIS;
+        while (!(remaining = attempt(remaining)).isEmpty()) {
+            if (!running) {
+                return false;
+            }
+            LOG.warnf("Retrying %d queued books in %d ms", remaining.size(), delay);
+            Thread.sleep(delay);
+            delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+        }
+        return true;
+    }
+
+    private List<Pending> attempt(final List<Pending> batch) {
+        final List<Book> books = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            books.add(pending.book);
+        }
+        final List<BookBatchResult> results;
+        try {
+            results = batchTimer.record(() -> blockingExecution.run(() -> bookController.createAll(books)).await().indefinitely());
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Could not write %d queued books", batch.size());
+            return batch;
+        }
+        final List<Pending> done = new ArrayList<>(batch.size());
+        final List<Pending> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            final BookBatchResult result = results.get(i);
+            final String ticket = batch.get(i).ticket;
+            if (result.getStatus() >= 500) {
+                failed.add(batch.get(i));
+                continue;
+            }
+            statuses.put(ticket, result.getError() == null
+                    ? BookIngestStatus.done(ticket, result.getId())
+                    : BookIngestStatus.failed(ticket, result.getError()));
+            done.add(batch.get(i));
+        }
+        markDone(done);
+        for (Pending pending : done) {
+            if (pending.submitted) {
+                capacity.release();
+            }
+        }
+        return failed;
+    }
+
+    private void markDone(final Collection<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final StringBuilder lines = new StringBuilder();
+        for (Pending pending : batch) {
+            lines.append(objectMapper.createObjectNode().put("ticket", pending.ticket).put("done", true)).append('\n');
+        }
+        synchronized (journalLock) {
+            try {
+                journal().write(ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                LOG.warnf(e, "Could not journal %d written books", batch.size());
+            }
+        }
+    }
+
+    private void compactIfIdle() {
+        synchronized (journalLock) {
+            try {
+                if (journal != null && capacity.availablePermits() == queueSize && journal.size() > 0) {
+                    journal.truncate(0);
+                }
+            } catch (IOException e) {
+                LOG.warn("Could not reset the book ingest journal", e);
+            }
+        }
+    }
+
+    private void sweep() {
+        final long now = System.currentTimeMillis();
+        if (now - lastSweep < SWEEP_INTERVAL_MILLIS) {
+            return;
+        }
+        lastSweep = now;
+        final long oldest = now - statusTtl.toMillis();
+        statuses.values().removeIf(it -> it.getCompletedAt() != null && it.getCompletedAt().toEpochMilli() < oldest);
+    }
+
+    private List<Pending> replay(final Path path) {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        final Map<String, Book> pending = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                try {
+                    final JsonNode entry = objectMapper.readTree(line);
+                    if (entry.has("book")) {
+                        pending.put(entry.get("ticket").asText(), objectMapper.treeToValue(entry.get("book"), Book.class));
+                    } else {
+                        pending.remove(entry.get("ticket").asText());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    LOG.warnf("Skipping an unreadable book ingest journal entry: %s", e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            LOG.errorf(e, "Could not read the book ingest journal %s", path);
+            return List.of();
+        }
+        final List<Pending> replayed = new ArrayList<>(pending.size());
+        for (Map.Entry<String, Book> entry : pending.entrySet()) {
+            final Pending replay = new Pending(entry.getKey(), entry.getValue(), false);
+            statuses.put(replay.ticket, replay.status);
+            replayed.add(replay);
+        }
+        synchronized (journalLock) {
+            try {
+                journal().truncate(0);
+                for (Pending replay : replayed) {
+                    append(entry(replay));
+                }
+                journal.force(false);
+            } catch (IOException e) {
+                LOG.errorf(e, "Could not rewrite the book ingest journal %s", path);
+            }
+        }
+        if (!replayed.isEmpty()) {
+            LOG.infof("Replaying %d queued books from %s", replayed.size(), path);
+        }
+        return replayed;
+    }
+
+    private ObjectNode entry(final Pending pending) {
+        final ObjectNode entry = objectMapper.createObjectNode().put("ticket", pending.ticket);
+        entry.set("book", objectMapper.valueToTree(pending.book));
+        return entry;
+    }
+
+    private void append(final ObjectNode entry) throws IOException {
+        journal().write(ByteBuffer.wrap((entry + "\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private FileChannel journal() throws IOException {
+        if (journal == null) {
+            final Path path = Paths.get(journalPath);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            journal = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return journal;
+    }
+
+    private static final class Pending {
+
+        final String ticket;
+        final Book book;
+        final boolean submitted;
+        final BookIngestStatus status;
+        final CompletableFuture<Void> synced = new CompletableFuture<>();
+
+        Pending(final String ticket, final Book book, final boolean submitted) {
+            this.ticket = ticket;
+            this.book = book;
+            this.submitted = submitted;
+            this.status = BookIngestStatus.queued(ticket);
+        }
+    }
+}
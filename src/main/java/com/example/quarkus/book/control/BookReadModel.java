@@ -0,0 +1,181 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.BlockingExecution;
+import com.example.quarkus.book.boundary.BookRepository;
+import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.book.entity.BookReadModelStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+/**
+ * Serves reads by id and pages from memory once loaded; writes are applied after they commit.
+ */
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class BookReadModel {
+
+    private static final Logger LOG = Logger.getLogger(BookReadModel.class);
+    private static final int LOAD_CHUNK = 1000;
+    private static final long MILLION = 1_000_000L;
+
+    @Inject
+    BookRepository bookRepository;
+
+    @Inject
+    BlockingExecution blockingExecution;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "book.read-model.enabled", defaultValue = "false")
+    boolean enabled;
+
+    private final BookRecordStore store = new BookRecordStore();
+    private final StampedLock lock = new StampedLock();
+    // Books deleted while the load runs, which the load must not bring back.
+    private final Set<Long> deletedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean ready;
+    private volatile Instant loadedAt;
+
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("book.read-model.size", this, it -> it.read(it.store::size)).register(registry);
+        Gauge.builder("book.read-model.footprint", this, it -> it.read(it.store::footprint)).baseUnit("bytes").register(registry);
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        if (enabled) {
+            blockingExecution.run(this::load)
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                    .subscribe().with(loaded -> { }, e -> LOG.error("Could not load the book read model", e));
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Writes applied during the load take precedence over what it read.
+     */
+    public int load() {
+        final long start = System.nanoTime();
+        loading = true;
+        final List<Book> chunk = new ArrayList<>(LOAD_CHUNK);
+        bookRepository.forEachAfter(0L, book -> {
+            chunk.add(book);
+            if (chunk.size() == LOAD_CHUNK) {
+                putAbsent(chunk);
+                chunk.clear();
+            }
+        });
+        putAbsent(chunk);
+        loading = false;
+        deletedWhileLoading.clear();
+        loadedAt = Instant.now();
+        ready = true;
+        final BookReadModelStats stats = stats();
+        LOG.infof("Loaded %d books into the read model in %d ms, %d KB (%d bytes per book)", stats.getSize(),
+                (System.nanoTime() - start) / 1_000_000, stats.getFootprintBytes() / 1024, stats.getBytesPerBook());
+        return stats.getSize();
+    }
+
+    public Optional<Book> findById(final long id) {
+        return Optional.ofNullable(read(() -> store.get(id)));
+    }
+
+    public List<Book> findPage(final long after, final int limit) {
+        return read(() -> store.page(after, limit));
+    }
+
+    public void put(final Book book) {
+        if (enabled) {
+            write(() -> store.put(book, false));
+        }
+    }
+
+    public void remove(final Long id) {
+        if (enabled) {
+            if (loading) {
+                deletedWhileLoading.add(id);
+            }
+            write(() -> store.remove(id));
+        }
+    }
+
+    public void linkAuthor(final String author, final long authorId) {
+        if (enabled) {
+            write(() -> {
+                store.linkAuthor(author, authorId);
+                return null;
+            });
+        }
+    }
+
+    public BookReadModelStats stats() {
+        final BookReadModelStats stats = new BookReadModelStats();
+        stats.setEnabled(enabled);
+        stats.setReady(ready);
+        stats.setLoadedAt(loadedAt);
+        read(() -> {
+            stats.setSize(store.size());
+            stats.setAuthors(store.authors());
+            stats.setTitleBytes(store.titleBytes());
+            stats.setFootprintBytes(store.footprint());
+            return null;
+        });
+        if (stats.getSize() > 0) {
+            stats.setBytesPerBook(stats.getFootprintBytes() / stats.getSize());
+            stats.setBytesPerMillionBooks(stats.getFootprintBytes() * MILLION / stats.getSize());
+        }
+        return stats;
+    }
+
+    private void putAbsent(final List<Book> books) {
+        write(() -> {
+            for (Book book : books) {
+                if (!deletedWhileLoading.contains(book.getId())) {
+                    store.put(book, true);
+                }
+            }
+            return null;
+        });
+    }
+
+    private <T> T read(final Supplier<T> reader) {
+        final long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <T> T write(final Supplier<T> writer) {
+        final long stamp = lock.writeLock();
+        try {
+            return writer.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.book.entity.Book;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Books as rows of primitive arrays sorted by id, titles in a shared byte arena. Not thread-safe.
+ */
+final class BookRecordStore {
+
+    private static final long NULL = Long.MIN_VALUE;
+    private static final int NO_AUTHOR = -1;
+    private static final int NO_TITLE = -1;
+    private static final int DELETED = -2;
+    private static final int MIN_ARENA_GARBAGE = 1 << 20;
+    // A String and its byte[], a HashMap node and a boxed Integer, on a 64-bit JVM with compressed oops.
+    private static final int AUTHOR_OVERHEAD = 104;
+
+    private long[] ids = new long[16];
+    private long[] versions = new long[16];
+    private long[] authorIds = new long[16];
+    private int[] authorRefs = new int[16];
+    private int[] titleOffsets = new int[16];
+    private int[] titleLengths = new int[16];
+    private int rows;
+    private int deleted;
+    // Ids of deleted books without a row, until the initial load brings them back.
+    private final LongHashSet tombstones = new LongHashSet();
+
+    private byte[] arena = new byte[1024];
+    private int arenaUsed;
+    private int arenaGarbage;
+
+    private final Map<String, Integer> authorRefsByName = new HashMap<>();
+    private final List<String> authorNames = new ArrayList<>();
+    private long[] linkedAuthorIds = new long[16];
+
+    int size() {
+        return rows - deleted;
+    }
+
+    Book get(final long id) {
+        final int row = Arrays.binarySearch(ids, 0, rows, id);
+        return row >= 0 && titleLengths[row] != DELETED ? book(row) : null;
+    }
+
+    // Out-of-order writes keep the newest version; only the initial load (onlyIfAbsent) may bring a deleted id back.
+    boolean put(final Book book, final boolean onlyIfAbsent) {
+        final long version = book.getVersion() == null ? NULL : book.getVersion();
+        int row = Arrays.binarySearch(ids, 0, rows, book.getId());
+        if (!onlyIfAbsent && (row >= 0 ? titleLengths[row] == DELETED : tombstones.contains(book.getId()))) {
+            return false;
+        }
+        if (row >= 0 && titleLengths[row] == DELETED) {
+            deleted--;
+        } else if (row >= 0) {
+            if (onlyIfAbsent || version < versions[row]) {
+                return false;
+            }
+            arenaGarbage += Math.max(0, titleLengths[row]);
+        } else {
+            tombstones.remove(book.getId());
+            row = insertRow(-row - 1);
+            ids[row] = book.getId();
+        }
+        write(row, book, version);
+        compactArenaIfWasteful();
+        return true;
+    }
+
+    boolean remove(final long id) {
+        final int row = Arrays.binarySearch(ids, 0, rows, id);
+        if (row < 0) {
+            tombstones.add(id);
+            return false;
+        }
+        if (titleLengths[row] == DELETED) {
+            return false;
+        }
+        arenaGarbage += Math.max(0, titleLengths[row]);
+        titleLengths[row] = DELETED;
+        if (++deleted > Math.max(64, rows / 4)) {
+            compactRows();
+        }
+        compactArenaIfWasteful();
+        return true;
+    }
+
+    List<Book> page(final long after, final int limit) {
+        final List<Book> books = new ArrayList<>(Math.min(limit, size()));
+        int row = Arrays.binarySearch(ids, 0, rows, after);
+        for (row = row >= 0 ? row + 1 : -row - 1; row < rows && books.size() < limit; row++) {
+            if (titleLengths[row] != DELETED) {
+                books.add(book(row));
+            }
+        }
+        return books;
+    }
+
+    // Also applies to books of the author loaded later, like the backfill does in the database.
+    void linkAuthor(final String author, final long authorId) {
+        linkedAuthorIds[authorRef(author)] = authorId;
+    }
+
+    int authors() {
+        return authorNames.size();
+    }
+
+    long titleBytes() {
+        return arenaUsed - arenaGarbage;
+    }
+
+    long footprint() {
+        long bytes = (long) ids.length * (Long.BYTES * 3 + Integer.BYTES * 3) + arena.length
+                + (long) (linkedAuthorIds.length + tombstones.capacity()) * Long.BYTES;
+        for (String name : authorNames) {
+            bytes += AUTHOR_OVERHEAD + name.length();
+        }
+        return bytes;
+    }
+
+    private Book book(final int row) {
+        final Book book = new Book();
+        book.setId(ids[row]);
+        book.setTitle(titleLengths[row] == NO_TITLE ? null : new String(arena, titleOffsets[row], titleLengths[row], StandardCharsets.UTF_8));
+        final int authorRef = authorRefs[row];
+        book.setAuthor(authorRef == NO_AUTHOR ? null : authorNames.get(authorRef));
+        final long authorId = authorIds[row] != NULL ? authorIds[row] : authorRef == NO_AUTHOR ? NULL : linkedAuthorIds[authorRef];
+        book.setAuthorId(authorId == NULL ? null : authorId);
+        book.setVersion(versions[row] == NULL ? null : versions[row]);
+        return book;
+    }
+
+    private void write(final int row, final Book book, final long version) {
+        versions[row] = version;
+        authorIds[row] = book.getAuthorId() == null ? NULL : book.getAuthorId();
+        authorRefs[row] = book.getAuthor() == null ? NO_AUTHOR : authorRef(book.getAuthor());
+        if (book.getTitle() == null) {
+            titleOffsets[row] = 0;
+            titleLengths[row] = NO_TITLE;
+            return;
+        }
+        final byte[] title = book.getTitle().getBytes(StandardCharsets.UTF_8);
+        if (arenaUsed + title.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(grown(arena.length), arenaUsed + title.length));
+        }
+        System.arraycopy(title, 0, arena, arenaUsed, title.length);
+        titleOffsets[row] = arenaUsed;
+        titleLengths[row] = title.length;
+        arenaUsed += title.length;
+    }
+
+    private int authorRef(final String author) {
+        final Integer ref = authorRefsByName.get(author);
+        if (ref != null) {
+            return ref;
+        }
+        final int added = authorNames.size();
+        authorNames.add(author);
+        authorRefsByName.put(author, added);
+        if (added == linkedAuthorIds.length) {
+            linkedAuthorIds = Arrays.copyOf(linkedAuthorIds, grown(added));
+        }
+        linkedAuthorIds[added] = NULL;
+        return added;
+    }
+
+    private int insertRow(final int row) {
+        if (rows == ids.length) {
+            final int capacity = grown(rows);
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            authorIds = Arrays.copyOf(authorIds, capacity);
+            authorRefs = Arrays.copyOf(authorRefs, capacity);
+            titleOffsets = Arrays.copyOf(titleOffsets, capacity);
+            titleLengths = Arrays.copyOf(titleLengths, capacity);
+        }
+        final int moved = rows - row;
+        if (moved > 0) {
+            System.arraycopy(ids, row, ids, row + 1, moved);
+            System.arraycopy(versions, row, versions, row + 1, moved);
+            System.arraycopy(authorIds, row, authorIds, row + 1, moved);
+            System.arraycopy(authorRefs, row, authorRefs, row + 1, moved);
+            System.arraycopy(titleOffsets, row, titleOffsets, row + 1, moved);
+            System.arraycopy(titleLengths, row, titleLengths, row + 1, moved);
+        }
+        rows++;
+        return row;
+    }
+
+    private void compactRows() {
+        int live = 0;
+        for (int row = 0; row < rows; row++) {
+            if (titleLengths[row] == DELETED) {
+                tombstones.add(ids[row]);
+            } else {
+                ids[live] = ids[row];
+                versions[live] = versions[row];
+                authorIds[live] = authorIds[row];
+                authorRefs[live] = authorRefs[row];
+                titleOffsets[live] = titleOffsets[row];
+                titleLengths[live] = titleLengths[row];
+                live++;
+            }
+        }
+        rows = live;
+        deleted = 0;
+    }
+
+    private void compactArenaIfWasteful() {
+        if (arenaGarbage < MIN_ARENA_GARBAGE || arenaGarbage < arenaUsed / 2) {
+            return;
+        }
+        final byte[] compacted = new byte[grown(arenaUsed - arenaGarbage)];
+        int used = 0;
+        for (int row = 0; row < rows; row++) {
+            if (titleLengths[row] > 0) {
+                System.arraycopy(arena, titleOffsets[row], compacted, used, titleLengths[row]);
+                titleOffsets[row] = used;
+                used += titleLengths[row];
+            }
+        }
+        arena = compacted;
+        arenaUsed = used;
+        arenaGarbage = 0;
+    }
+
+    private static int grown(final int capacity) {
+        return Math.max(16, capacity + (capacity >> 1));
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.BlockingExecution;
+import com.example.quarkus.book.boundary.BookRepository;
+import com.example.quarkus.book.entity.Book;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import org.jboss.logging.Logger;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+/**
+ * Accent- and case-insensitive title index; candidates are checked with {@link #matches(String, String)}.
+ */
+@ApplicationScoped
+@SuppressWarnings("CdiInjectionPointsInspection")
+public class BookSearchIndex {
+
+    private static final Logger LOG = Logger.getLogger(BookSearchIndex.class);
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int REBUILD_CHUNK = 1000;
+
+    @Inject
+    BookRepository bookRepository;
+
+    @Inject
+    BlockingExecution blockingExecution;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+    private final Map<Long, Set<String>> termsById = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    void onStart(@Observes StartupEvent ev) {
+        blockingExecution.run(this::rebuild)
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .subscribe().with(indexed -> { }, e -> LOG.error("Could not build the book search index", e));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return termsById.size();
+    }
+
+    /**
+     * Writes indexed during the rebuild take precedence over what it read.
+     */
+    public int rebuild() {
+        final long start = System.nanoTime();
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        final List<Book> chunk = new ArrayList<>(REBUILD_CHUNK);
+        bookRepository.forEachAfter(0L, book -> {
+            chunk.add(book);
+            if (chunk.size() == REBUILD_CHUNK) {
+                tasks.add(indexAsync(new ArrayList<>(chunk)));
+                chunk.clear();
+            }
+        });
+        tasks.add(indexAsync(new ArrayList<>(chunk)));
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        ready = true;
+        LOG.infof("Indexed %d book titles (%d terms) in %d ms", termsById.size(), terms.size(), (System.nanoTime() - start) / 1_000_000);
+        return termsById.size();
+    }
+
+    public void index(final Book book) {
+        final Set<String> current = tokens(book.getTitle());
+        final Set<String> previous = termsById.put(book.getId(), current);
+        if (previous != null) {
+            for (String term : previous) {
+                if (!current.contains(term)) {
+                    removePosting(term, book.getId());
+                }
+            }
+        }
+        for (String term : current) {
+            addPosting(term, book.getId());
+        }
+    }
+
+    public void remove(final Long id) {
+        final Set<String> previous = termsById.remove(id);
+        if (previous != null) {
+            for (String term : previous) {
+                removePosting(term, id);
+            }
+        }
+    }
+
+    /**
+     * Ids of the books matching {@code query}, ascending, at most {@code limit} of them.
+     */
+    public List<Long> search(final String query, final int limit) {
+        final List<String> tokens = new ArrayList<>(tokens(query));
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Long> candidates = prefixed(tokens.get(tokens.size() - 1));
+        for (String token : tokens.subList(0, tokens.size() - 1)) {
+            final Set<Long> ids = postings.getOrDefault(token, Collections.emptySet());
+            candidates = candidates.size() <= ids.size() ? retain(candidates, ids) : retain(ids, candidates);
+        }
+        final long[] sorted = new long[candidates.size()];
+        int i = 0;
+        for (Long id : candidates) {
+            sorted[i++] = id;
+        }
+        Arrays.sort(sorted, 0, i);
+        final List<Long> result = new ArrayList<>(Math.min(limit, i));
+        for (int j = 0; j < i && j < limit; j++) {
+            result.add(sorted[j]);
+        }
+        return result;
+    }
+
+    public static boolean matches(final String title, final String query) {
+        final List<String> tokens = new ArrayList<>(tokens(query));
+        if (tokens.isEmpty()) {
+            return false;
+        }
+        final Set<String> titleTokens = tokens(title);
+        final String prefix = tokens.get(tokens.size() - 1);
+        return titleTokens.containsAll(tokens.subList(0, tokens.size() - 1))
+                && titleTokens.stream().anyMatch(it -> it.startsWith(prefix));
+    }
+
+    static Set<String> tokens(final String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        final Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(folded.toLowerCase())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private CompletableFuture<Void> indexAsync(final List<Book> books) {
+        return CompletableFuture.runAsync(() -> {
+            for (Book book : books) {
+                final Set<String> current = tokens(book.getTitle());
+                if (termsById.putIfAbsent(book.getId(), current) == null) {
+                    for (String term : current) {
+                        addPosting(term, book.getId());
+                    }
+                }
+            }
+        });
+    }
+
+    private Set<Long> prefixed(final String prefix) {
+        final Set<Long> ids = new HashSet<>();
+        for (String term : terms.subSet(prefix, true, prefix + Character.MAX_VALUE, false)) {
+            ids.addAll(postings.getOrDefault(term, Collections.emptySet()));
+        }
+        return ids;
+    }
+
+    private static Set<Long> retain(final Set<Long> smaller, final Set<Long> larger) {
+        final Set<Long> ids = new HashSet<>();
+        for (Long id : smaller) {
+            if (larger.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private void addPosting(final String term, final Long id) {
+        postings.compute(term, (key, ids) -> {
+            final Set<Long> updated = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            if (ids == null) {
+                terms.add(key);
+            }
+            updated.add(id);
+            return updated;
+        });
+    }
+
+    private void removePosting(final String term, final Long id) {
+        postings.computeIfPresent(term, (key, ids) -> {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                terms.remove(key);
+                return null;
+            }
+            return ids;
+        });
+    }
+}
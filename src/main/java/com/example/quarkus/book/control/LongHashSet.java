@@ -0,0 +1,87 @@
+package com.example.quarkus.book.control;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing set of longs other than {@link Long#MIN_VALUE}, with linear probing. Not thread-safe.
+ */
+final class LongHashSet {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] slots = empty(16);
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    boolean contains(final long value) {
+        return slots[slot(slots, value)] == value;
+    }
+
+    boolean add(final long value) {
+        final int slot = slot(slots, value);
+        if (slots[slot] == value) {
+            return false;
+        }
+        slots[slot] = value;
+        if (++size > slots.length / 2) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    boolean remove(final long value) {
+        final int mask = slots.length - 1;
+        int slot = slot(slots, value);
+        if (slots[slot] != value) {
+            return false;
+        }
+        size--;
+        // Shifts later entries of the probe run back, so no lookup stops at the hole too early.
+        for (int next = (slot + 1) & mask; slots[next] != EMPTY; next = (next + 1) & mask) {
+            final int home = home(slots[next], mask);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                slots[slot] = slots[next];
+                slot = next;
+            }
+        }
+        slots[slot] = EMPTY;
+        return true;
+    }
+
+    private void rehash(final int capacity) {
+        final long[] rehashed = empty(capacity);
+        for (long value : slots) {
+            if (value != EMPTY) {
+                rehashed[slot(rehashed, value)] = value;
+            }
+        }
+        slots = rehashed;
+    }
+
+    private static int slot(final long[] slots, final long value) {
+        final int mask = slots.length - 1;
+        int slot = home(value, mask);
+        while (slots[slot] != EMPTY && slots[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int home(final long value, final int mask) {
+        final long mixed = value * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private static long[] empty(final int capacity) {
+        final long[] slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+}
@@ -1,19 +1,42 @@
 package com.example.quarkus.book.entity;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+
 import java.util.Objects;
 
+import javax.persistence.Cacheable;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "book_author_id_idx", columnList = "author_id, id"))
+@RegisterForReflection
 public class Book {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "book_id")
+    @GenericGenerator(name = "book_id", strategy = "com.example.quarkus.book.entity.BookIdGenerator")
     private Long id;
+    @NotBlank
+    @Size(max = 30)
     private String title;
     private String author;
+    @Column(name = "author_id")
+    private Long authorId;
+    @Version
+    private Long version;
 
     public void setId(final Long id) {
         this.id = id;
@@ -39,6 +62,22 @@ public class Book {
         this.author = author;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(final Long version) {
+        this.version = version;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(final Long authorId) {
+        this.authorId = authorId;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
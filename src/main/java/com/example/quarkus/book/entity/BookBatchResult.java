@@ -0,0 +1,58 @@
+package com.example.quarkus.book.entity;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public class BookBatchResult {
+
+    private int index;
+    private Long id;
+    private int status;
+    private String error;
+
+    public static BookBatchResult success(final int index, final Long id, final int status) {
+        final BookBatchResult result = new BookBatchResult();
+        result.setIndex(index);
+        result.setId(id);
+        result.setStatus(status);
+        return result;
+    }
+
+    public static BookBatchResult failure(final int index, final Long id, final int status, final String error) {
+        final BookBatchResult result = success(index, id, status);
+        result.setError(error);
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(final int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(final int status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(final String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.quarkus.book.entity;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public class BookChange {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, IMPORTED
+    }
+
+    private long sequence;
+    private Type type;
+    private Long id;
+    private Book book;
+    private String importId;
+    private Integer count;
+
+    public static BookChange of(final Type type, final Long id, final Book book) {
+        final BookChange change = new BookChange();
+        change.setType(type);
+        change.setId(id);
+        change.setBook(book);
+        return change;
+    }
+
+    /**
+     * One change for a whole chunk of an import, which carries no books so that a large import cannot flood the log.
+     */
+    public static BookChange imported(final String importId, final int count) {
+        final BookChange change = new BookChange();
+        change.setType(Type.IMPORTED);
+        change.setImportId(importId);
+        change.setCount(count);
+        return change;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(final long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(final Type type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public void setBook(final Book book) {
+        this.book = book;
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public void setImportId(final String importId) {
+        this.importId = importId;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(final Integer count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.quarkus.book.entity;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * Pooled-lo sequence ids, or {@link SnowflakeIdGenerator} ids with {@code book.id.strategy=snowflake}.
+ */
+@RegisterForReflection
+public class BookIdGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_NAME = "book_seq";
+
+    private SnowflakeIdGenerator snowflake;
+
+    @Override
+    public void configure(final Type type, final Properties params, final ServiceRegistry serviceRegistry) throws MappingException {
+        final Config config = ConfigProvider.getConfig();
+        params.setProperty(SEQUENCE_PARAM, SEQUENCE_NAME);
+        params.setProperty(INCREMENT_PARAM, String.valueOf(config.getOptionalValue("book.id.allocation-size", Integer.class).orElse(50)));
+        params.setProperty(OPT_PARAM, "pooled-lo");
+        super.configure(type, params, serviceRegistry);
+
+        if ("snowflake".equals(config.getOptionalValue("book.id.strategy", String.class).orElse("sequence"))) {
+            snowflake = new SnowflakeIdGenerator(config.getOptionalValue("book.id.node-id", Long.class).orElse(0L));
+        }
+    }
+
+    @Override
+    public Serializable generate(final SharedSessionContractImplementor session, final Object object) throws HibernateException {
+        if (snowflake != null) {
+            return snowflake.nextId();
+        }
+        return super.generate(session, object);
+    }
+}
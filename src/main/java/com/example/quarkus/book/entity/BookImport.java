@@ -0,0 +1,124 @@
+package com.example.quarkus.book.entity;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+/**
+ * Progress of a bulk import, committed with every chunk it writes.
+ */
+@Entity
+@Table(name = "book_import")
+@RegisterForReflection
+public class BookImport {
+
+    public enum State {
+        RUNNING, DONE, FAILED
+    }
+
+    @Id
+    private String id;
+    private String format;
+    @Enumerated(EnumType.STRING)
+    private State state;
+    @Column(name = "processed_rows")
+    private long rows;
+    private long imported;
+    private long failed;
+    private String error;
+    private Instant startedAt;
+    private Instant updatedAt;
+    // The first rejected rows of this run, for the response; not stored.
+    @Transient
+    private List<BookBatchResult> errors = new ArrayList<>();
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(final String id) {
+        this.id = id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(final String format) {
+        this.format = format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(final State state) {
+        this.state = state;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(final long rows) {
+        this.rows = rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(final long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(final long failed) {
+        this.failed = failed;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(final String error) {
+        this.error = error;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(final Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(final Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public List<BookBatchResult> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(final List<BookBatchResult> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.quarkus.book.entity;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.time.Instant;
+
+@RegisterForReflection
+public class BookIngestStatus {
+
+    public enum State {
+        QUEUED, DONE, FAILED
+    }
+
+    private String ticket;
+    private State state;
+    private Long id;
+    private String error;
+    private Instant completedAt;
+
+    public static BookIngestStatus queued(final String ticket) {
+        final BookIngestStatus status = new BookIngestStatus();
+        status.setTicket(ticket);
+        status.setState(State.QUEUED);
+        return status;
+    }
+
+    public static BookIngestStatus done(final String ticket, final Long id) {
+        final BookIngestStatus status = queued(ticket);
+        status.setState(State.DONE);
+        status.setId(id);
+        status.setCompletedAt(Instant.now());
+        return status;
+    }
+
+    public static BookIngestStatus failed(final String ticket, final String error) {
+        final BookIngestStatus status = queued(ticket);
+        status.setState(State.FAILED);
+        status.setError(error);
+        status.setCompletedAt(Instant.now());
+        return status;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public void setTicket(final String ticket) {
+        this.ticket = ticket;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(final State state) {
+        this.state = state;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(final String error) {
+        this.error = error;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(final Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.quarkus.book.entity;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.time.Instant;
+
+@RegisterForReflection
+public class BookReadModelStats {
+
+    private boolean enabled;
+    private boolean ready;
+    private Instant loadedAt;
+    private int size;
+    private int authors;
+    private long titleBytes;
+    private long footprintBytes;
+    private long bytesPerBook;
+    private long bytesPerMillionBooks;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(final boolean ready) {
+        this.ready = ready;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public void setLoadedAt(final Instant loadedAt) {
+        this.loadedAt = loadedAt;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(final int size) {
+        this.size = size;
+    }
+
+    public int getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(final int authors) {
+        this.authors = authors;
+    }
+
+    public long getTitleBytes() {
+        return titleBytes;
+    }
+
+    public void setTitleBytes(final long titleBytes) {
+        this.titleBytes = titleBytes;
+    }
+
+    public long getFootprintBytes() {
+        return footprintBytes;
+    }
+
+    public void setFootprintBytes(final long footprintBytes) {
+        this.footprintBytes = footprintBytes;
+    }
+
+    public long getBytesPerBook() {
+        return bytesPerBook;
+    }
+
+    public void setBytesPerBook(final long bytesPerBook) {
+        this.bytesPerBook = bytesPerBook;
+    }
+
+    public long getBytesPerMillionBooks() {
+        return bytesPerMillionBooks;
+    }
+
+    public void setBytesPerMillionBooks(final long bytesPerMillionBooks) {
+        this.bytesPerMillionBooks = bytesPerMillionBooks;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.quarkus.book.entity;
+
+import com.example.quarkus.author.entity.Author;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * A book as answered for {@code expand=author}: the author's name is replaced by the author itself.
+ */
+@RegisterForReflection
+public class ExpandedBook {
+
+    private Long id;
+    private String title;
+    private Author author;
+    private Long authorId;
+    private Long version;
+
+    public static ExpandedBook of(final Book book, final Author author) {
+        final ExpandedBook expanded = new ExpandedBook();
+        expanded.setId(book.getId());
+        expanded.setTitle(book.getTitle());
+        expanded.setAuthor(author);
+        expanded.setAuthorId(book.getAuthorId());
+        expanded.setVersion(book.getVersion());
+        return expanded;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(final String title) {
+        this.title = title;
+    }
+
+    public Author getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(final Author author) {
+        this.author = author;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(final Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(final Long version) {
+        this.version = version;
+    }
+}
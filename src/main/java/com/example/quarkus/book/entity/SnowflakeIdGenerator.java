@@ -0,0 +1,46 @@
+package com.example.quarkus.book.entity;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered ids, strictly increasing per node even when the clock steps back.
+ */
+public class SnowflakeIdGenerator {
+
+    public static final long EPOCH = 1640995200000L;
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(final long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = nodeId << SEQUENCE_BITS;
+    }
+
+    public long nextId() {
+        while (true) {
+            final long previous = state.get();
+            final long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+            // A full sequence rolls over into the next millisecond instead of waiting for the clock.
+            final long next = now > previous ? now : previous + 1;
+            if (state.compareAndSet(previous, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | node | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public static long nodeId(final long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    public static long timestamp(final long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+}
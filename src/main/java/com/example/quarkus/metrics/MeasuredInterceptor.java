@@ -0,0 +1,67 @@
+package com.example.quarkus.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.ArcInvocationContext;
+import io.smallrye.mutiny.Uni;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+
+@Measured("")
+@Interceptor
+@Priority(Interceptor.Priority.LIBRARY_BEFORE)
+public class MeasuredInterceptor {
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<Method, OperationTimer> timers = new ConcurrentHashMap<>();
+
+    @AroundInvoke
+    Object measure(final InvocationContext context) throws Exception {
+        OperationTimer timer = timers.get(context.getMethod());
+        if (timer == null) {
+            timer = timers.computeIfAbsent(context.getMethod(), method -> register(method, context));
+        }
+        final long start = System.nanoTime();
+        final Object result;
+        try {
+            result = context.proceed();
+        } catch (Exception e) {
+            timer.error(start);
+            throw e;
+        }
+        if (result instanceof Uni) {
+            final OperationTimer uniTimer = timer;
+            return ((Uni<?>) result).onTermination().invoke((item, failure, cancelled) -> {
+                if (failure == null) {
+                    uniTimer.success(start);
+                } else {
+                    uniTimer.error(start);
+                }
+            });
+        }
+        timer.success(start);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private OperationTimer register(final Method method, final InvocationContext context) {
+        final Set<Annotation> bindings = (Set<Annotation>) context.getContextData().get(ArcInvocationContext.KEY_INTERCEPTOR_BINDINGS);
+        final String name = bindings.stream()
+                .filter(Measured.class::isInstance)
+                .map(it -> ((Measured) it).value())
+                .findFirst()
+                .orElseThrow();
+        return OperationTimer.register(registry, name, method.getName());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.quarkus.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.quarkus.runtime.ExecutorRecorder;
+import io.quarkus.runtime.StartupEvent;
+import org.jboss.threads.EnhancedQueueExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Produces;
+import javax.inject.Singleton;
+
+@ApplicationScoped
+public class MetricsConfig {
+
+    private static final String[] LATENCY_METERS = {"http.server.requests", "book.", "author."};
+
+    @Produces
+    @Singleton
+    public MeterFilter latencyDistribution() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(final Meter.Id id, final DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !isLatencyMeter(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentiles(0.5, 0.99, 0.999)
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    void registerWorkerPool(@Observes StartupEvent ev, MeterRegistry registry) {
+        final Executor executor = ExecutorRecorder.getCurrent();
+        if (!(executor instanceof EnhancedQueueExecutor)) {
+            return;
+        }
+        final EnhancedQueueExecutor pool = (EnhancedQueueExecutor) executor;
+        Gauge.builder("worker.pool.active", pool, EnhancedQueueExecutor::getActiveCount)
+                .description("Worker threads currently running a task")
+                .register(registry);
+        Gauge.builder("worker.pool.size", pool, EnhancedQueueExecutor::getPoolSize)
+                .register(registry);
+        Gauge.builder("worker.pool.max", pool, EnhancedQueueExecutor::getMaximumPoolSize)
+                .register(registry);
+        Gauge.builder("worker.pool.queue", pool, EnhancedQueueExecutor::getQueueSize)
+                .description("Tasks waiting for a worker thread")
+                .register(registry);
+        Gauge.builder("worker.pool.saturation", pool, it -> (double) it.getActiveCount() / it.getMaximumPoolSize())
+                .description("Active worker threads as a fraction of the maximum pool size")
+                .register(registry);
+    }
+
+    private static boolean isLatencyMeter(final String name) {
+        for (String prefix : LATENCY_METERS) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
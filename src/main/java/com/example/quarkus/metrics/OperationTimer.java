@@ -0,0 +1,47 @@
+package com.example.quarkus.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Success and error timers registered up front, so recording does no meter lookup.
+ */
+public final class OperationTimer {
+
+    private final Timer success;
+    private final Timer error;
+
+    private OperationTimer(final Timer success, final Timer error) {
+        this.success = success;
+        this.error = error;
+    }
+
+    public static OperationTimer register(final MeterRegistry registry, final String name, final String operation) {
+        return new OperationTimer(
+                Timer.builder(name).tag("operation", operation).tag("outcome", "success").register(registry),
+                Timer.builder(name).tag("operation", operation).tag("outcome", "error").register(registry));
+    }
+
+    public <T> T record(final Supplier<T> call) {
+        final long start = System.nanoTime();
+        try {
+            final T result = call.get();
+            success(start);
+            return result;
+        } catch (RuntimeException e) {
+            error(start);
+            throw e;
+        }
+    }
+
+    public void success(final long startNanos) {
+        success.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void error(final long startNanos) {
+        error.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
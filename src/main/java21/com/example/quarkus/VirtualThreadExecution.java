@@ -0,0 +1,55 @@
+package com.example.quarkus;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Alternative;
+
+/**
+ * Only compiled by the {@code virtual-threads} profile: runs blocking work on virtual threads.
+ */
+@Alternative
+@Priority(1)
+@ApplicationScoped
+public class VirtualThreadExecution extends BlockingExecution {
+
+    private static final Logger LOG = Logger.getLogger(VirtualThreadExecution.class);
+
+    @ConfigProperty(name = "book.virtual-threads.enabled", defaultValue = "true")
+    boolean enabled;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        if (enabled) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("book-virtual-", 0).factory());
+            LOG.info("Book endpoints run blocking work on virtual threads");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    protected boolean mustOffload() {
+        return enabled ? !Thread.currentThread().isVirtual() : super.mustOffload();
+    }
+
+    @Override
+    protected Executor executor() {
+        return enabled ? executor : super.executor();
+    }
+}
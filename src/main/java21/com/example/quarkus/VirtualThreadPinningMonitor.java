@@ -0,0 +1,83 @@
+package com.example.quarkus;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+/**
+ * Reports the JFR {@code jdk.VirtualThreadPinned} event.
+ */
+@ApplicationScoped
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger LOG = Logger.getLogger(VirtualThreadPinningMonitor.class);
+    private static final int LOGGED_FRAMES = 8;
+
+    @ConfigProperty(name = "book.virtual-threads.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "book.virtual-threads.pinned-threshold-millis", defaultValue = "20")
+    long thresholdMillis;
+
+    private final LongAdder pinned = new LongAdder();
+    private RecordingStream recording;
+
+    void onStart(@Observes StartupEvent ev) {
+        if (!enabled) {
+            return;
+        }
+        recording = new RecordingStream();
+        recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        recording.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        recording.startAsync();
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public long pinnedCount() {
+        return pinned.sum();
+    }
+
+    private void onPinned(final RecordedEvent event) {
+        pinned.increment();
+        if (LOG.isDebugEnabled() || pinned.sum() == 1) {
+            LOG.warnf("Virtual thread %s was pinned to its carrier for %d ms:%n%s",
+                    event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                    event.getDuration().toMillis(),
+                    frames(event));
+        }
+    }
+
+    private static String frames(final RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t(no stack trace)";
+        }
+        final List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .dropWhile(VirtualThreadPinningMonitor::isJdkFrame)
+                .limit(LOGGED_FRAMES)
+                .map(it -> "\tat " + it.getMethod().getType().getName() + "." + it.getMethod().getName() + ":" + it.getLineNumber())
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    private static boolean isJdkFrame(final RecordedFrame frame) {
+        final String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.quarkus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Only compiled by the {@code reactive} profile, whose RESTEasy has no {@link StreamingOutput} writer.
+ */
+@Provider
+@Produces(MediaType.WILDCARD)
+public class StreamingOutputWriter implements MessageBodyWriter<StreamingOutput> {
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations, final MediaType mediaType) {
+        return StreamingOutput.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(final StreamingOutput output, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream)
+            throws IOException {
+        output.write(entityStream);
+    }
+}
@@ -3,13 +3,19 @@ package com.example.quarkus;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.extension.responsetemplating.ResponseTemplateTransformer;
+import io.quarkus.arc.profile.UnlessBuildProfile;
 import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 
+/**
+ * Stands in for the author service in dev mode and tests; removed from prod builds.
+ */
 @ApplicationScoped
+@UnlessBuildProfile("prod")
 public class WiremockServerConfig {
 
     private WireMockServer wireMockServer;
@@ -19,6 +25,7 @@ public class WiremockServerConfig {
                 options()
                 .usingFilesUnderClasspath("wiremock/author-service")
                 .port(8000)
+                .extensions(new ResponseTemplateTransformer(false))
         );
         wireMockServer.start();
     }
@@ -0,0 +1,60 @@
+package com.example.quarkus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveLimitTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    public void requestsBeyondTheLimitShouldBeRejected() {
+        final AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, THRESHOLD, 0.5);
+
+        Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertFalse(limit.tryAcquire());
+        Assertions.assertEquals(1, limit.rejected());
+
+        limit.release(0);
+        Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertEquals(2, limit.inFlight());
+    }
+
+    @Test
+    public void limitShouldGrowWhileFastAndShrinkWhenSlow() throws InterruptedException {
+        final AdaptiveLimit limit = new AdaptiveLimit(4, 2, 8, THRESHOLD, 0.5);
+        for (int i = 0; i < 100; i++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (; acquired > 0; acquired--) {
+                limit.release(0);
+            }
+        }
+        Assertions.assertEquals(8, limit.limit());
+
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(THRESHOLD));
+        limit.tryAcquire();
+        limit.release(THRESHOLD * 2);
+        Assertions.assertEquals(4, limit.limit());
+
+        // A burst of slow answers lowers the limit once, not once per answer.
+        limit.tryAcquire();
+        limit.release(THRESHOLD * 2);
+        Assertions.assertEquals(4, limit.limit());
+    }
+
+    @Test
+    public void idleLimitShouldNotGrow() {
+        final AdaptiveLimit limit = new AdaptiveLimit(10, 2, 100, THRESHOLD, 0.5);
+        for (int i = 0; i < 1000; i++) {
+            limit.tryAcquire();
+            limit.release(0);
+        }
+        Assertions.assertEquals(10, limit.limit());
+    }
+}
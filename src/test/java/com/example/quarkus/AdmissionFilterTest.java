@@ -0,0 +1,28 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+
+@QuarkusTest
+public class AdmissionFilterTest {
+
+    @Inject
+    AdmissionControl admissionControl;
+
+    @Test
+    public void failedRequestsShouldGiveTheirPermitBack() throws InterruptedException {
+        final AdaptiveLimit writes = admissionControl.limitFor("DELETE");
+        for (int i = 0; i < writes.limit() + 10; i++) {
+            given().when().delete(BookResourceTest.BOOKS_PATH + "/999999").then().statusCode(404);
+        }
+        for (int i = 0; i < 100 && writes.inFlight() > 0; i++) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(0, writes.inFlight());
+    }
+}
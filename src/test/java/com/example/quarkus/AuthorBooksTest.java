@@ -0,0 +1,74 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+
+import com.example.quarkus.book.boundary.BookRepository;
+import com.example.quarkus.book.control.BookAuthorBackfill;
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.inject.Inject;
+
+@QuarkusTest
+public class AuthorBooksTest {
+
+    private static final long GILSON = 3L;
+    private static final long ANA = 5L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Inject
+    BookRepository bookRepository;
+
+    @Inject
+    BookAuthorBackfill backfill;
+
+    @Test
+    public void booksShouldBeListedByAuthorId() throws JsonProcessingException {
+        final Book request = new Book();
+        request.setTitle("by author");
+        request.setAuthor(BookResourceTest.AUTHOR);
+        final Book created = given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request))
+                .post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getObject(".", Book.class);
+        Assertions.assertEquals(GILSON, created.getAuthorId());
+
+        final List<Book> books = booksOf(GILSON);
+        Assertions.assertTrue(books.stream().anyMatch(it -> it.getId().equals(created.getId())));
+        Assertions.assertTrue(books.stream().allMatch(it -> it.getAuthorId() == GILSON));
+    }
+
+    @Test
+    public void backfillShouldLinkExistingBooks() {
+        final Book legacy = new Book();
+        legacy.setTitle("legacy row");
+        legacy.setAuthor("Ana");
+        final Long id = bookRepository.save(legacy).getId();
+        Assertions.assertTrue(booksOf(ANA).stream().noneMatch(it -> it.getId().equals(id)));
+
+        // On a bare thread, like the startup run, so no request context is active.
+        Assertions.assertTrue(CompletableFuture.supplyAsync(backfill::backfill, task -> new Thread(task).start()).join() >= 1);
+
+        Assertions.assertTrue(booksOf(ANA).stream().anyMatch(it -> it.getId().equals(id)));
+    }
+
+    private List<Book> booksOf(final long authorId) {
+        return given()
+                .when().get("/authors/" + authorId + "/books?limit=1000")
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getList(".", Book.class);
+    }
+}
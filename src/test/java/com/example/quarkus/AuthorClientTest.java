@@ -0,0 +1,21 @@
+package com.example.quarkus;
+
+import com.example.quarkus.author.control.AuthorClient;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+
+@QuarkusTest
+public class AuthorClientTest {
+
+    @Inject
+    AuthorClient authorClient;
+
+    @Test
+    public void authorsShouldBeFoundById() {
+        Assertions.assertEquals("Ana", authorClient.findById(5L).await().indefinitely().orElseThrow().getName());
+        Assertions.assertTrue(authorClient.findById(999L).await().indefinitely().isEmpty());
+    }
+}
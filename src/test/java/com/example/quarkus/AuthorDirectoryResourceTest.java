@@ -0,0 +1,43 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class AuthorDirectoryResourceTest {
+
+    public static final String DIRECTORY_PATH = "/authors/directory";
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void validationShouldBeServedFromTheDirectory() throws JsonProcessingException {
+        final Book request = new Book();
+        request.setTitle("directory test");
+        request.setAuthor("Ana");
+
+        for (int i = 0; i < 3; i++) {
+            given()
+                    .when()
+                    .header("Content-Type", "application/json")
+                    .body(objectMapper.writeValueAsString(request))
+                    .post(BookResourceTest.BOOKS_PATH)
+                    .then()
+                    .statusCode(200);
+        }
+
+        given()
+                .when().get(DIRECTORY_PATH)
+                .then()
+                .statusCode(200)
+                .body("size", greaterThan(0))
+                .body("hits", greaterThanOrEqualTo(2))
+                .body("refreshes", greaterThanOrEqualTo(1));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+
+import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.book.entity.BookBatchResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+@QuarkusTest
+public class BookBatchTest {
+
+    public static final String BATCH_PATH = BookResourceTest.BOOKS_PATH + "/batch";
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void batchShouldReportEveryItem() throws JsonProcessingException {
+        final List<BookBatchResult> created = given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(Arrays.asList(
+                        book(null, "batch one", BookResourceTest.AUTHOR),
+                        book(null, "batch two", "nobody"),
+                        book(null, "", BookResourceTest.AUTHOR),
+                        book(null, "batch three", "Ana"))))
+                .post(BATCH_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getList(".", BookBatchResult.class);
+
+        Assertions.assertEquals(4, created.size());
+        Assertions.assertEquals(201, created.get(0).getStatus());
+        Assertions.assertNotNull(created.get(0).getId());
+        Assertions.assertEquals(400, created.get(1).getStatus());
+        Assertions.assertEquals(400, created.get(2).getStatus());
+        Assertions.assertEquals(201, created.get(3).getStatus());
+
+        final Long id = created.get(0).getId();
+        final List<BookBatchResult> updated = given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(Arrays.asList(
+                        book(id, "batch renamed", "Ana"),
+                        book(999999L, "missing", "Ana"))))
+                .put(BATCH_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getList(".", BookBatchResult.class);
+
+        Assertions.assertEquals(200, updated.get(0).getStatus());
+        Assertions.assertEquals(404, updated.get(1).getStatus());
+
+        final Book found = given()
+                .when().get(BookResourceTest.BOOKS_PATH + "/" + id)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getObject(".", Book.class);
+        Assertions.assertEquals("batch renamed", found.getTitle());
+        Assertions.assertEquals("Ana", found.getAuthor());
+
+        final List<BookBatchResult> deleted = given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(Arrays.asList(id, created.get(3).getId(), 999999L)))
+                .delete(BATCH_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getList(".", BookBatchResult.class);
+
+        Assertions.assertEquals(204, deleted.get(0).getStatus());
+        Assertions.assertEquals(204, deleted.get(1).getStatus());
+        Assertions.assertEquals(404, deleted.get(2).getStatus());
+
+        given()
+                .when().get(BookResourceTest.BOOKS_PATH + "/" + id)
+                .then()
+                .statusCode(404);
+    }
+
+    private static Book book(final Long id, final String title, final String author) {
+        final Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@QuarkusTest
+public class BookCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void cachedBooksShouldFollowWrites() throws JsonProcessingException {
+        final Book created = send("POST", BookResourceTest.BOOKS_PATH, "cached");
+        final String path = BookResourceTest.BOOKS_PATH + "/" + created.getId();
+
+        for (int i = 0; i < 2; i++) {
+            given().when().get(path).then().statusCode(200).body("title", equalTo("cached"));
+        }
+        final long after = created.getId() - 1;
+        Assertions.assertEquals("cached", page(after).get(0).getTitle());
+
+        send("PUT", path, "cached again");
+        given().when().get(path).then().statusCode(200).body("title", equalTo("cached again"));
+        Assertions.assertEquals("cached again", page(after).get(0).getTitle());
+
+        given().when().delete(path).then().statusCode(204);
+        given().when().get(path).then().statusCode(404);
+        Assertions.assertTrue(page(after).stream().noneMatch(it -> it.getId().equals(created.getId())));
+
+        given()
+                .when().get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("book_cache_hit_ratio{region=\"entity\""))
+                .body(containsString("book_cache_hit_ratio{region=\"query\""));
+    }
+
+    private List<Book> page(final long after) {
+        return given()
+                .when().get(BookResourceTest.BOOKS_PATH + "?limit=1&after=" + after)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getList(".", Book.class);
+    }
+
+    private Book send(final String method, final String path, final String title) throws JsonProcessingException {
+        final Book request = new Book();
+        request.setTitle(title);
+        request.setAuthor(BookResourceTest.AUTHOR);
+        return given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request))
+                .request(method, path)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getObject(".", Book.class);
+    }
+}
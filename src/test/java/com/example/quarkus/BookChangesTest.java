@@ -0,0 +1,103 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+
+import com.example.quarkus.book.control.BookChangeLog;
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+
+@QuarkusTest
+public class BookChangesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TestHTTPResource("/books/changes")
+    URI changes;
+
+    @Inject
+    BookChangeLog changeLog;
+
+    @Test
+    @Timeout(10)
+    public void changesShouldBeReplayedInOrder() throws IOException, InterruptedException {
+        final long after = changeLog.lastSequence();
+        final String afterId = changeLog.eventId(after);
+        final Book created = create("changes");
+        final String path = BookResourceTest.BOOKS_PATH + "/" + created.getId();
+        given()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request("changes 2")))
+                .when().put(path)
+                .then().statusCode(200);
+        given().when().delete(path).then().statusCode(204);
+
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(changes + "?after=" + afterId))
+                .header("Accept", "text/event-stream")
+                .build();
+        final HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+        Assertions.assertEquals(200, response.statusCode());
+        final List<String> lines;
+        try (Stream<String> body = response.body()) {
+            lines = body.filter(line -> line.startsWith("id:") || line.startsWith("event:"))
+                    .limit(6)
+                    .map(line -> line.replace(" ", ""))
+                    .collect(Collectors.toList());
+        }
+
+        // The order of the id and event fields within an event differs between the two REST stacks.
+        Assertions.assertEquals(List.of("event:CREATED", "event:UPDATED", "event:DELETED"),
+                lines.stream().filter(line -> line.startsWith("event:")).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of("id:" + changeLog.eventId(after + 1), "id:" + changeLog.eventId(after + 2), "id:" + changeLog.eventId(after + 3)),
+                lines.stream().filter(line -> line.startsWith("id:")).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void unavailableChangesShouldBeGone() {
+        given().header("Accept", "text/event-stream")
+                .when().get(BookResourceTest.BOOKS_PATH + "/changes?after=" + changeLog.eventId(changeLog.lastSequence() + 1))
+                .then().statusCode(410);
+    }
+
+    @Test
+    public void eventIdsOfAnotherBootShouldBeGone() {
+        given().header("Accept", "text/event-stream")
+                .header("Last-Event-ID", "1-" + changeLog.lastSequence())
+                .when().get(BookResourceTest.BOOKS_PATH + "/changes")
+                .then().statusCode(410);
+    }
+
+    private Book request(final String title) {
+        final Book request = new Book();
+        request.setTitle(title);
+        request.setAuthor(BookResourceTest.AUTHOR);
+        return request;
+    }
+
+    private Book create(final String title) throws JsonProcessingException {
+        return given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request(title)))
+                .post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getObject(".", Book.class);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+
+@QuarkusTest
+public class BookConditionalRequestTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    public void readsShouldBeConditional() throws JsonProcessingException {
+        final Book created = create("conditional");
+        final String path = BookResourceTest.BOOKS_PATH + "/" + created.getId();
+        final String page = BookResourceTest.BOOKS_PATH + "?limit=1&after=" + (created.getId() - 1);
+
+        final String bookTag = given().when().get(path)
+                .then().statusCode(200).header("Cache-Control", not(emptyString()))
+                .extract().header("ETag");
+        final String pageTag = given().when().get(page)
+                .then().statusCode(200)
+                .extract().header("ETag");
+
+        given().header("If-None-Match", bookTag).when().get(path)
+                .then().statusCode(304).header("ETag", bookTag).body(emptyString());
+        given().header("If-None-Match", pageTag).when().get(page)
+                .then().statusCode(304).body(emptyString());
+
+        given()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request("conditional again")))
+                .when().put(path)
+                .then().statusCode(200);
+
+        given().header("If-None-Match", bookTag).when().get(path)
+                .then().statusCode(200).body("title", equalTo("conditional again"));
+        given().header("If-None-Match", pageTag).when().get(page)
+                .then().statusCode(200);
+    }
+
+    @Test
+    public void writesShouldHonourIfMatch() throws JsonProcessingException {
+        final Book created = create("if-match");
+        final String path = BookResourceTest.BOOKS_PATH + "/" + created.getId();
+        final String original = given().when().get(path).then().statusCode(200).extract().header("ETag");
+
+        final String updated = given()
+                .header("Content-Type", "application/json")
+                .header("If-Match", original)
+                .body(objectMapper.writeValueAsString(request("if-match 2")))
+                .when().put(path)
+                .then().statusCode(200)
+                .extract().header("ETag");
+        Assertions.assertNotEquals(original, updated);
+
+        given()
+                .header("Content-Type", "application/json")
+                .header("If-Match", original)
+                .body(objectMapper.writeValueAsString(request("if-match 3")))
+                .when().put(path)
+                .then().statusCode(412);
+        given().header("If-Match", original).when().delete(path).then().statusCode(412);
+
+        given().header("If-Match", updated).when().delete(path).then().statusCode(204);
+        given().when().get(path).then().statusCode(404);
+    }
+
+    @Test
+    public void ifMatchShouldAcceptAnyAndLists() throws JsonProcessingException {
+        final Book created = create("if-match list");
+        final String path = BookResourceTest.BOOKS_PATH + "/" + created.getId();
+        final String tag = given().when().get(path).then().statusCode(200).extract().header("ETag");
+
+        given()
+                .header("Content-Type", "application/json")
+                .header("If-Match", "\"12345\", " + tag)
+                .body(objectMapper.writeValueAsString(request("if-match list 2")))
+                .when().put(path)
+                .then().statusCode(200);
+        given()
+                .header("Content-Type", "application/json")
+                .header("If-Match", "*")
+                .body(objectMapper.writeValueAsString(request("if-match list 3")))
+                .when().put(path)
+                .then().statusCode(200).body("title", equalTo("if-match list 3"));
+        given().header("If-Match", "*").when().delete(path).then().statusCode(204);
+
+        given()
+                .header("Content-Type", "application/json")
+                .header("If-Match", "*")
+                .body(objectMapper.writeValueAsString(request("missing")))
+                .when().put(path)
+                .then().statusCode(412);
+        given().header("If-Match", "*").when().delete(path).then().statusCode(412);
+        given().when().delete(path).then().statusCode(404);
+    }
+
+    @Test
+    public void conditionalUpdateShouldBeASingleStatement() throws JsonProcessingException {
+        final Book created = create("one statement");
+        final String path = BookResourceTest.BOOKS_PATH + "/" + created.getId();
+        final String tag = given().when().get(path).then().statusCode(200).extract().header("ETag");
+        final Statistics statistics = sessionFactory.getStatistics();
+        final long before = statistics.getPrepareStatementCount();
+
+        given()
+                .header("Content-Type", "application/json")
+                .header("If-Match", tag)
+                .body(objectMapper.writeValueAsString(request("one statement 2")))
+                .when().put(path)
+                .then().statusCode(200).body("title", equalTo("one statement 2"));
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount() - before);
+        given().when().get(path).then().statusCode(200).body("title", equalTo("one statement 2"));
+        given()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request("missing")))
+                .when().put(BookResourceTest.BOOKS_PATH + "/" + Long.MAX_VALUE)
+                .then().statusCode(404);
+    }
+
+    private Book request(final String title) {
+        final Book request = new Book();
+        request.setTitle(title);
+        request.setAuthor(BookResourceTest.AUTHOR);
+        return request;
+    }
+
+    private Book create(final String title) throws JsonProcessingException {
+        return given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request(title)))
+                .post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getObject(".", Book.class);
+    }
+}
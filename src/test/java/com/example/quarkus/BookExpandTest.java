@@ -0,0 +1,89 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.example.quarkus.author.control.AuthorDirectory;
+import com.example.quarkus.author.entity.Author;
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Map;
+
+@QuarkusTest
+public class BookExpandTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void authorsShouldBeEmbeddedOnRequest() throws JsonProcessingException {
+        final Book first = create("expand one", "Ana");
+        create("expand two", "Ana");
+        create("expand three", BookResourceTest.AUTHOR);
+
+        given()
+                .when().get(BookResourceTest.BOOKS_PATH + "?expand=author&limit=3&after=" + (first.getId() - 1))
+                .then()
+                .statusCode(200)
+                .body("[0].author.name", equalTo("Ana"))
+                .body("[0].author.id", equalTo(5))
+                .body("[1].author.name", equalTo("Ana"))
+                .body("[2].author.name", equalTo(BookResourceTest.AUTHOR))
+                .body("[2].author.id", equalTo(3));
+
+        final String path = BookResourceTest.BOOKS_PATH + "/" + first.getId();
+        final String expandedTag = given()
+                .when().get(path + "?expand=author")
+                .then()
+                .statusCode(200)
+                .body("title", equalTo("expand one"))
+                .body("author.name", equalTo("Ana"))
+                .extract().header("ETag");
+        Assertions.assertNotEquals(given().when().get(path).then().extract().header("ETag"), expandedTag);
+        given().header("If-None-Match", expandedTag).when().get(path + "?expand=author").then().statusCode(304);
+
+        given().when().get(path + "?expand=publisher").then().statusCode(400);
+    }
+
+    @Test
+    public void authorsExpandedWithoutTheAuthorServiceShouldNotBeCached() throws JsonProcessingException {
+        final Book book = create("expand offline", "Ana");
+        QuarkusMock.installMockForType(new AuthorDirectory() {
+            @Override
+            public Uni<Map<String, Author>> findByNamesAsync(final Collection<String> names) {
+                return Uni.createFrom().failure(new IllegalStateException("circuit open"));
+            }
+        }, AuthorDirectory.class);
+
+        given()
+                .when().get(BookResourceTest.BOOKS_PATH + "/" + book.getId() + "?expand=author")
+                .then()
+                .statusCode(200)
+                .body("author.name", equalTo("Ana"))
+                .header("ETag", nullValue())
+                .header("Cache-Control", containsString("no-store"));
+    }
+
+    private Book create(final String title, final String author) throws JsonProcessingException {
+        final Book request = new Book();
+        request.setTitle(title);
+        request.setAuthor(author);
+        return given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request))
+                .post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getObject(".", Book.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+@QuarkusTest
+public class BookFormatTest {
+
+    private static final RestAssuredConfig NO_DECODING = RestAssuredConfig.config()
+            .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void listingsShouldBeAvailableAsSmileAndCbor() throws IOException {
+        final Book created = create("binary");
+        final String page = BookResourceTest.BOOKS_PATH + "?limit=1&after=" + (created.getId() - 1);
+
+        final byte[] smile = given().accept(JacksonBinaryWriter.APPLICATION_SMILE).when().get(page)
+                .then().statusCode(200).contentType(JacksonBinaryWriter.APPLICATION_SMILE)
+                .extract().asByteArray();
+        final byte[] cbor = given().accept(JacksonBinaryWriter.APPLICATION_CBOR).when().get(page)
+                .then().statusCode(200).contentType(JacksonBinaryWriter.APPLICATION_CBOR)
+                .extract().asByteArray();
+
+        Assertions.assertEquals(created.getId(), Arrays.asList(new ObjectMapper(new SmileFactory()).readValue(smile, Book[].class)).get(0).getId());
+        Assertions.assertEquals(created.getId(), Arrays.asList(new ObjectMapper(new CBORFactory()).readValue(cbor, Book[].class)).get(0).getId());
+    }
+
+    @Test
+    public void listingsShouldBeGzipped() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            create("gzip " + i);
+        }
+        final String page = BookResourceTest.BOOKS_PATH + "?limit=20";
+        final Response gzipped = given().config(NO_DECODING).header("Accept-Encoding", "gzip")
+                .when().get(page)
+                .then().statusCode(200)
+                .header("Content-Encoding", "gzip")
+                .header("Vary", containsString("Accept-Encoding"))
+                .header("Vary", containsString("Accept,"))
+                .extract().response();
+        final List<?> books = objectMapper.readValue(new GZIPInputStream(new ByteArrayInputStream(gzipped.asByteArray())), List.class);
+        Assertions.assertEquals(20, books.size());
+
+        final String identityTag = given().config(NO_DECODING).header("Accept-Encoding", "identity")
+                .when().get(page)
+                .then().statusCode(200)
+                .header("Content-Encoding", nullValue())
+                .extract().header("ETag");
+        final String smileTag = given().config(NO_DECODING).header("Accept-Encoding", "identity").accept(JacksonBinaryWriter.APPLICATION_SMILE)
+                .when().get(page)
+                .then().statusCode(200)
+                .extract().header("ETag");
+        Assertions.assertEquals(3, Set.of(gzipped.header("ETag"), identityTag, smileTag).size());
+        given().config(NO_DECODING).header("Accept-Encoding", "identity").header("If-None-Match", gzipped.header("ETag"))
+                .when().get(page)
+                .then().statusCode(200);
+    }
+
+    @Test
+    public void smallResponsesShouldNotBeCompressed() throws IOException {
+        final Book book = create("small");
+        given().config(NO_DECODING).header("Accept-Encoding", "gzip")
+                .when().get(BookResourceTest.BOOKS_PATH + "/" + book.getId())
+                .then().statusCode(200)
+                .header("Content-Encoding", nullValue())
+                .header("Vary", containsString("Accept-Encoding"));
+    }
+
+    private Book create(final String title) throws JsonProcessingException {
+        final Book request = new Book();
+        request.setTitle(title);
+        request.setAuthor(BookResourceTest.AUTHOR);
+        return given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request))
+                .post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getObject(".", Book.class);
+    }
+}
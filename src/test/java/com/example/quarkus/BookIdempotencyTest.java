@@ -0,0 +1,77 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.example.quarkus.book.boundary.BookIdempotency;
+import com.example.quarkus.book.entity.Book;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@QuarkusTest
+public class BookIdempotencyTest {
+
+    @Test
+    public void retriedCreateShouldBeReplayed() {
+        final ExtractableResponse<Response> first = create("create-1", "idempotent create", BookResourceTest.AUTHOR);
+        Assertions.assertEquals(200, first.statusCode());
+        Assertions.assertNull(first.header(BookIdempotency.IDEMPOTENT_REPLAYED));
+
+        final ExtractableResponse<Response> retry = create("create-1", "idempotent create", BookResourceTest.AUTHOR);
+        Assertions.assertEquals(200, retry.statusCode());
+        Assertions.assertEquals("true", retry.header(BookIdempotency.IDEMPOTENT_REPLAYED));
+        Assertions.assertEquals(first.as(Book.class).getId(), retry.as(Book.class).getId());
+
+        Assertions.assertEquals(422, create("create-1", "another title", BookResourceTest.AUTHOR).statusCode());
+        Assertions.assertEquals(400, create("create-2", "idempotent create", "nobody").statusCode());
+        Assertions.assertEquals(400, create("create-2", "idempotent create", "nobody").statusCode());
+    }
+
+    @Test
+    public void concurrentDuplicatesShouldShareOneCreate() {
+        final List<CompletableFuture<ExtractableResponse<Response>>> requests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            requests.add(CompletableFuture.supplyAsync(() -> create("create-concurrent", "concurrent create", BookResourceTest.AUTHOR)));
+        }
+        final Long id = requests.get(0).join().as(Book.class).getId();
+        for (CompletableFuture<ExtractableResponse<Response>> request : requests) {
+            Assertions.assertEquals(200, request.join().statusCode());
+            Assertions.assertEquals(id, request.join().as(Book.class).getId());
+        }
+    }
+
+    @Test
+    public void retriedUpdateShouldNotBumpTheVersion() {
+        final Book created = create(null, "idempotent update", BookResourceTest.AUTHOR).as(Book.class);
+        final String path = BookResourceTest.BOOKS_PATH + "/" + created.getId();
+        final String body = "{\"title\":\"idempotent update 2\",\"author\":\"" + BookResourceTest.AUTHOR + "\"}";
+        for (int i = 0; i < 2; i++) {
+            given().header("Content-Type", "application/json")
+                    .header(BookIdempotency.IDEMPOTENCY_KEY, "update-1")
+                    .body(body)
+                    .when().put(path)
+                    .then()
+                    .statusCode(200)
+                    .body("version", equalTo(created.getVersion().intValue() + 1));
+        }
+    }
+
+    private static ExtractableResponse<Response> create(final String key, final String title, final String author) {
+        final RequestSpecification request = given().header("Content-Type", "application/json");
+        if (key != null) {
+            request.header(BookIdempotency.IDEMPOTENCY_KEY, key);
+        }
+        return request.body("{\"title\":\"" + title + "\",\"author\":\"" + author + "\"}")
+                .when().post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .extract();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.example.quarkus.book.boundary.BookImportRepository;
+import com.example.quarkus.book.control.BookChangeLog;
+import com.example.quarkus.book.entity.BookImport;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import javax.inject.Inject;
+
+@QuarkusTest
+public class BookImportTest {
+
+    private static final String IMPORT_PATH = BookResourceTest.BOOKS_PATH + "/import";
+
+    @Inject
+    BookImportRepository importRepository;
+
+    @Inject
+    BookChangeLog changeLog;
+
+    @Test
+    public void rowsShouldBeImportedOrReported() {
+        final long after = changeLog.lastSequence();
+        final BookImport result = given()
+                .header("Content-Type", "application/x-ndjson")
+                .body(("{\"title\":\"imported one\",\"author\":\"Gilson\"}\n"
+                        + "{\"title\":\"imported two\",\"author\":\"nobody\"}\n"
+                        + "not json\n"
+                        + "{\"id\":1,\"version\":3,\"title\":\"imported three\",\"author\":\"Ana\"}\n").getBytes(StandardCharsets.UTF_8))
+                .when().post(IMPORT_PATH + "?id=ndjson-import")
+                .then()
+                .statusCode(200)
+                .extract().as(BookImport.class);
+
+        Assertions.assertEquals(BookImport.State.DONE, result.getState());
+        Assertions.assertEquals(4, result.getRows());
+        Assertions.assertEquals(2, result.getImported());
+        Assertions.assertEquals(2, result.getFailed());
+        Assertions.assertEquals(1, result.getErrors().get(0).getIndex());
+        Assertions.assertEquals(2, result.getErrors().get(1).getIndex());
+        Assertions.assertEquals(after + 1, changeLog.lastSequence());
+
+        given().when().get(IMPORT_PATH + "/ndjson-import").then().statusCode(200).body("state", equalTo("DONE"));
+        given().accept("application/x-ndjson")
+                .when().get(BookResourceTest.BOOKS_PATH + "/export")
+                .then()
+                .statusCode(200)
+                .body(containsString("\"title\":\"imported three\""));
+    }
+
+    @Test
+    public void resumedImportShouldSkipCommittedRows() {
+        final BookImport interrupted = new BookImport();
+        interrupted.setId("csv-import");
+        interrupted.setFormat("csv");
+        interrupted.setState(BookImport.State.FAILED);
+        interrupted.setRows(2);
+        interrupted.setImported(2);
+        interrupted.setStartedAt(Instant.now());
+        importRepository.save(interrupted);
+
+        final BookImport result = given()
+                .header("Content-Type", "text/csv")
+                .body("title,author\r\nalready there,Gilson\r\nalso there,Ana\r\n\"resumed, \"\"quoted\"\"\",Ana\r\n")
+                .when().post(IMPORT_PATH + "?id=csv-import")
+                .then()
+                .statusCode(200)
+                .extract().as(BookImport.class);
+
+        Assertions.assertEquals(BookImport.State.DONE, result.getState());
+        Assertions.assertEquals(3, result.getRows());
+        Assertions.assertEquals(3, result.getImported());
+
+        final String csv = given().accept("text/csv")
+                .when().get(BookResourceTest.BOOKS_PATH + "/export")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+        Assertions.assertTrue(csv.startsWith("id,title,author,author_id,version\n"));
+        Assertions.assertTrue(csv.contains(",\"resumed, \"\"quoted\"\"\",Ana,5,0\n"));
+        Assertions.assertFalse(csv.contains("already there"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.book.entity.BookIngestStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class BookIngestTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void queuedBooksShouldBeWrittenInTheBackground() throws JsonProcessingException, InterruptedException {
+        final Response accepted = given()
+                .header("Content-Type", "application/json")
+                .header("Prefer", "respond-async")
+                .body(objectMapper.writeValueAsString(request("queued", BookResourceTest.AUTHOR)))
+                .when().post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(202)
+                .header("Location", notNullValue())
+                .header("Preference-Applied", "respond-async")
+                .body("state", equalTo("QUEUED"))
+                .extract().response();
+
+        BookIngestStatus status = accepted.as(BookIngestStatus.class);
+        for (int i = 0; i < 100 && status.getState() == BookIngestStatus.State.QUEUED; i++) {
+            Thread.sleep(50);
+            status = given().when().get(accepted.getHeader("Location"))
+                    .then().statusCode(200)
+                    .extract().as(BookIngestStatus.class);
+        }
+        Assertions.assertEquals(BookIngestStatus.State.DONE, status.getState());
+
+        given().when().get(BookResourceTest.BOOKS_PATH + "/" + status.getId())
+                .then().statusCode(200).body("title", equalTo("queued"));
+    }
+
+    @Test
+    public void queuedBooksShouldBeValidatedUpFront() throws JsonProcessingException {
+        given()
+                .header("Content-Type", "application/json")
+                .header("Prefer", "respond-async")
+                .body(objectMapper.writeValueAsString(request("queued", "Nobody")))
+                .when().post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(400);
+        given().when().get(BookResourceTest.BOOKS_PATH + "/ingest/unknown").then().statusCode(404);
+    }
+
+    private Book request(final String title, final String author) {
+        final Book request = new Book();
+        request.setTitle(title);
+        request.setAuthor(author);
+        return request;
+    }
+}
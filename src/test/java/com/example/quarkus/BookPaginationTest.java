@@ -0,0 +1,80 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+
+import com.example.quarkus.book.boundary.BookResource;
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+@QuarkusTest
+public class BookPaginationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void pagesShouldFollowTheNextLink() throws JsonProcessingException {
+        for (int i = 0; i < 3; i++) {
+            createBook("page " + i);
+        }
+
+        final Response first = given()
+                .when().get(BookResourceTest.BOOKS_PATH + "?limit=2")
+                .then()
+                .statusCode(200)
+                .extract().response();
+        final List<Book> firstPage = first.jsonPath().getList(".", Book.class);
+        Assertions.assertEquals(2, firstPage.size());
+        Assertions.assertTrue(firstPage.get(0).getId() < firstPage.get(1).getId());
+        Assertions.assertTrue(first.getHeader("Link").contains("after=" + firstPage.get(1).getId()));
+
+        final List<Book> secondPage = given()
+                .when().get(BookResourceTest.BOOKS_PATH + "?limit=2&after=" + firstPage.get(1).getId())
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getList(".", Book.class);
+        Assertions.assertFalse(secondPage.isEmpty());
+        Assertions.assertTrue(secondPage.get(0).getId() > firstPage.get(1).getId());
+    }
+
+    @Test
+    public void streamShouldReturnOneBookPerLine() throws JsonProcessingException {
+        final Book created = createBook("streamed");
+
+        final String body = given()
+                .when()
+                .header("Accept", BookResource.APPLICATION_NDJSON)
+                .get(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().asString();
+
+        final List<String> lines = Arrays.asList(body.split("\n"));
+        Assertions.assertFalse(lines.isEmpty());
+        for (String line : lines) {
+            Assertions.assertNotNull(objectMapper.readValue(line, Book.class).getId());
+        }
+        Assertions.assertTrue(lines.stream().anyMatch(it -> it.contains("\"id\":" + created.getId() + ",")));
+    }
+
+    private Book createBook(final String title) throws JsonProcessingException {
+        final Book request = new Book();
+        request.setTitle(title);
+        request.setAuthor(BookResourceTest.AUTHOR);
+        return given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request))
+                .post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getObject(".", Book.class);
+    }
+}
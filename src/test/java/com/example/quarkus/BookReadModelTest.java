@@ -0,0 +1,84 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.example.quarkus.book.boundary.BookRepository;
+import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.book.entity.BookReadModelStats;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import javax.inject.Inject;
+
+@QuarkusTest
+@TestProfile(BookReadModelTest.ReadModelEnabled.class)
+public class BookReadModelTest {
+
+    public static class ReadModelEnabled implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("book.read-model.enabled", "true");
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    BookRepository bookRepository;
+
+    @Test
+    public void readsShouldBeServedWithoutHibernate() throws JsonProcessingException {
+        create("kept");
+        final Book created = create("read model");
+        given().when().get(BookResourceTest.BOOKS_PATH + "/read-model").then().statusCode(200).body("ready", equalTo(true));
+
+        final long statements = sessionFactory.getStatistics().getPrepareStatementCount();
+        final long loads = sessionFactory.getStatistics().getEntityLoadCount();
+        given().when().get(BookResourceTest.BOOKS_PATH + "/" + created.getId())
+                .then().statusCode(200).body("title", equalTo("read model"));
+        given().when().get(BookResourceTest.BOOKS_PATH + "?limit=1&after=" + (created.getId() - 1))
+                .then().statusCode(200).body("[0].id", equalTo(created.getId().intValue()));
+        Assertions.assertEquals(statements, sessionFactory.getStatistics().getPrepareStatementCount());
+        Assertions.assertEquals(loads, sessionFactory.getStatistics().getEntityLoadCount());
+
+        given().when().delete(BookResourceTest.BOOKS_PATH + "/" + created.getId()).then().statusCode(204);
+        given().when().get(BookResourceTest.BOOKS_PATH + "/" + created.getId()).then().statusCode(404);
+        Assertions.assertTrue(bookRepository.findById(created.getId()).isEmpty());
+
+        final BookReadModelStats stats = given()
+                .when().get(BookResourceTest.BOOKS_PATH + "/read-model")
+                .then()
+                .statusCode(200)
+                .body("size", equalTo(1))
+                .extract().body().as(BookReadModelStats.class);
+        Assertions.assertEquals(stats.getFootprintBytes() / stats.getSize(), stats.getBytesPerBook());
+        Assertions.assertEquals(stats.getFootprintBytes() * 1_000_000 / stats.getSize(), stats.getBytesPerMillionBooks());
+    }
+
+    private Book create(final String title) throws JsonProcessingException {
+        final Book request = new Book();
+        request.setTitle(title);
+        request.setAuthor(BookResourceTest.AUTHOR);
+        return given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request))
+                .post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getObject(".", Book.class);
+    }
+}
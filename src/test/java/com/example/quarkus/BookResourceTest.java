@@ -3,11 +3,16 @@ package com.example.quarkus;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.notNullValue;
 
+import com.example.quarkus.author.control.AuthorClient;
+import com.example.quarkus.author.entity.Author;
 import com.example.quarkus.book.entity.Book;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusMock;
 import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -325,4 +330,26 @@ public class BookResourceTest {
 
         Assertions.assertTrue(books.stream().noneMatch(it -> it.getTitle().equals(blank)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(10)
+    public void createShouldAnswer503WhileTheAuthorServiceIsShortCircuited() throws JsonProcessingException {
+        QuarkusMock.installMockForType(new AuthorClient() {
+            @Override
+            public Uni<List<Author>> findByNames(final List<String> names) {
+                return Uni.createFrom().failure(new CircuitBreakerOpenException("circuit open"));
+            }
+        }, AuthorClient.class);
+        final Book request = new Book();
+        request.setTitle(TITLE);
+        request.setAuthor("an author never looked up");
+        given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request))
+                .post(BOOKS_PATH)
+                .then()
+                .statusCode(503)
+                .header("Retry-After", "10");
+    }
+}
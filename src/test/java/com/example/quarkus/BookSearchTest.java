@@ -0,0 +1,96 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+
+import com.example.quarkus.book.control.BookSearchIndex;
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+@QuarkusTest
+public class BookSearchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Inject
+    BookSearchIndex searchIndex;
+
+    @BeforeEach
+    public void waitForIndex() throws InterruptedException {
+        for (int i = 0; i < 100 && !searchIndex.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        Assertions.assertTrue(searchIndex.isReady());
+    }
+
+    @Test
+    public void searchShouldFoldAccentsAndMatchPrefixes() throws JsonProcessingException {
+        final Book created = create("Póstumas de Brás Cubas");
+
+        Assertions.assertTrue(search("postumas de").contains(created.getId()));
+        Assertions.assertTrue(search("BRAS cub").contains(created.getId()));
+        Assertions.assertTrue(search("póst").contains(created.getId()));
+        Assertions.assertFalse(search("cuba bras").contains(created.getId()));
+        Assertions.assertFalse(search("memorias").contains(created.getId()));
+    }
+
+    @Test
+    public void searchShouldFollowUpdatesAndDeletes() throws JsonProcessingException {
+        final Book created = create("Vidas Secas");
+        final String path = BookResourceTest.BOOKS_PATH + "/" + created.getId();
+        Assertions.assertTrue(search("vidas").contains(created.getId()));
+
+        given()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request("São Bernardo")))
+                .when().put(path)
+                .then().statusCode(200);
+        Assertions.assertFalse(search("vidas").contains(created.getId()));
+        Assertions.assertTrue(search("sao bern").contains(created.getId()));
+
+        given().when().delete(path).then().statusCode(204);
+        Assertions.assertFalse(search("sao bern").contains(created.getId()));
+    }
+
+    @Test
+    public void searchShouldRequireAQuery() {
+        given().when().get(BookResourceTest.BOOKS_PATH + "/search").then().statusCode(400);
+    }
+
+    private List<Long> search(final String query) {
+        return given()
+                .queryParam("q", query)
+                .when().get(BookResourceTest.BOOKS_PATH + "/search")
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getList(".", Book.class)
+                .stream().map(Book::getId).collect(Collectors.toList());
+    }
+
+    private Book request(final String title) {
+        final Book request = new Book();
+        request.setTitle(title);
+        request.setAuthor(BookResourceTest.AUTHOR);
+        return request;
+    }
+
+    private Book create(final String title) throws JsonProcessingException {
+        return given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request(title)))
+                .post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().getObject(".", Book.class);
+    }
+}
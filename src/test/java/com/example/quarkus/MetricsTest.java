@@ -0,0 +1,44 @@
+package com.example.quarkus;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+
+import com.example.quarkus.book.entity.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class MetricsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void metricsShouldCoverEveryLayer() throws JsonProcessingException {
+        final Book request = new Book();
+        request.setTitle("metrics test");
+        request.setAuthor("Ana");
+
+        given()
+                .when()
+                .header("Content-Type", "application/json")
+                .body(objectMapper.writeValueAsString(request))
+                .post(BookResourceTest.BOOKS_PATH)
+                .then()
+                .statusCode(200);
+
+        given()
+                .when().get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("http_server_requests_seconds_bucket"))
+                .body(containsString("book_controller_seconds{operation=\"createAsync\",outcome=\"success\",quantile=\"0.99\""))
+                .body(containsString("book_repository_seconds_count{operation=\"save\",outcome=\"success\""))
+                .body(containsString("author_service_seconds_count{operation=\"findByNames\",outcome=\"success\""))
+                .body(containsString("book_admission_limit{kind=\"write\""))
+                .body(containsString("book_admission_rejected_total{kind=\"read\""))
+                .body(containsString("agroal_active_count"))
+                .body(containsString("worker_pool_saturation"));
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.quarkus.author.control;
+
+import com.example.quarkus.author.entity.Author;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+public class AuthorDirectoryTest {
+
+    @Test
+    public void concurrentLookupsShouldShareOneCall() {
+        final CompletableFuture<List<Author>> response = new CompletableFuture<>();
+        final List<List<String>> calls = new CopyOnWriteArrayList<>();
+        final AuthorDirectory directory = directory(new AuthorClient() {
+            @Override
+            public Uni<List<Author>> findByNames(final List<String> names) {
+                calls.add(names);
+                return Uni.createFrom().completionStage(response);
+            }
+        });
+
+        final List<CompletableFuture<Optional<Author>>> lookups = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final CompletableFuture<Optional<Author>> lookup = new CompletableFuture<>();
+            directory.findByNameAsync("Ana").subscribe().with(lookup::complete, lookup::completeExceptionally);
+            lookups.add(lookup);
+        }
+        response.complete(List.of(author("Ana")));
+
+        for (CompletableFuture<Optional<Author>> lookup : lookups) {
+            Assertions.assertTrue(lookup.join().isPresent());
+        }
+        Assertions.assertEquals(List.of(List.of("Ana")), calls);
+    }
+
+    @Test
+    public void batchesShouldOnlyAskForUnknownNames() {
+        final List<List<String>> calls = new CopyOnWriteArrayList<>();
+        final AuthorDirectory directory = directory(new AuthorClient() {
+            @Override
+            public Uni<List<Author>> findByNames(final List<String> names) {
+                calls.add(names);
+                return Uni.createFrom().item(names.stream()
+                        .filter(name -> !name.equals("Nobody"))
+                        .map(AuthorDirectoryTest::author)
+                        .collect(Collectors.toList()));
+            }
+        });
+
+        Assertions.assertTrue(directory.findByName("Ana").isPresent());
+        final Map<String, Author> found = directory.findByNames(List.of("Ana", "Rui", "Nobody", "Rui"));
+
+        Assertions.assertEquals(List.of("Ana", "Rui"), found.keySet().stream().sorted().collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(List.of("Ana"), List.of("Rui", "Nobody")), calls);
+    }
+
+    @Test
+    public void failedLookupShouldServeTheLastAnswer() {
+        final List<List<String>> calls = new CopyOnWriteArrayList<>();
+        final AuthorDirectory directory = directory(new AuthorClient() {
+            @Override
+            public Uni<List<Author>> findByNames(final List<String> names) {
+                calls.add(names);
+                return calls.size() == 1
+                        ? Uni.createFrom().item(List.of(author("Ana")))
+                        : Uni.createFrom().failure(new IllegalStateException("circuit open"));
+            }
+        });
+        directory.ttl = Duration.ZERO;
+
+        Assertions.assertTrue(directory.findByName("Ana").isPresent());
+        Assertions.assertTrue(directory.findByName("Ana").isPresent());
+        Assertions.assertThrows(IllegalStateException.class, () -> directory.findByName("Rui"));
+        Assertions.assertEquals(3, calls.size());
+        Assertions.assertEquals(2, directory.stats().getRefreshFailures());
+    }
+
+    @Test
+    public void expiredEntriesShouldBeServedWhileTheyRefresh() {
+        final CompletableFuture<List<Author>> refresh = new CompletableFuture<>();
+        final List<List<String>> calls = new CopyOnWriteArrayList<>();
+        final AuthorDirectory directory = directory(new AuthorClient() {
+            @Override
+            public Uni<List<Author>> findByNames(final List<String> names) {
+                calls.add(names);
+                return calls.size() == 1 ? Uni.createFrom().item(List.of(author("Ana"))) : Uni.createFrom().completionStage(refresh);
+            }
+        });
+        directory.findByName("Ana");
+        directory.ttl = Duration.ZERO;
+
+        Assertions.assertTrue(directory.findByName("Ana").isPresent());
+        Assertions.assertTrue(directory.findByName("Ana").isPresent());
+        Assertions.assertEquals(2, calls.size());
+
+        refresh.complete(List.of(author("Ana")));
+        Assertions.assertEquals(2, directory.stats().getRefreshes());
+    }
+
+    @Test
+    public void fullCacheShouldStayWithinMaxSize() {
+        final AuthorDirectory directory = directory(new AuthorClient() {
+            @Override
+            public Uni<List<Author>> findByNames(final List<String> names) {
+                return Uni.createFrom().item(names.stream().map(AuthorDirectoryTest::author).collect(Collectors.toList()));
+            }
+        }, 2);
+
+        for (String name : List.of("Ana", "Rui", "Pedro", "Ines", "Dario")) {
+            Assertions.assertTrue(directory.findByName(name).isPresent());
+        }
+
+        Assertions.assertTrue(directory.stats().getSize() <= 2);
+    }
+
+    private static AuthorDirectory directory(final AuthorClient client) {
+        return directory(client, 100);
+    }
+
+    private static AuthorDirectory directory(final AuthorClient client, final int maxSize) {
+        final AuthorDirectory directory = new AuthorDirectory();
+        directory.authorClient = client;
+        directory.ttl = Duration.ofMinutes(5);
+        directory.missRefreshInterval = Duration.ofSeconds(5);
+        directory.maxSize = maxSize;
+        directory.registry = new SimpleMeterRegistry();
+        directory.registerMeters();
+        return directory;
+    }
+
+    private static Author author(final String name) {
+        final Author author = new Author();
+        author.setName(name);
+        return author;
+    }
+}
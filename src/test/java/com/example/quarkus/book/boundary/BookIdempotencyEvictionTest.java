@@ -0,0 +1,74 @@
+package com.example.quarkus.book.boundary;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.core.Response;
+
+public class BookIdempotencyEvictionTest {
+
+    @Test
+    public void runningRequestsShouldNotBeEvicted() {
+        final BookIdempotency idempotency = idempotency(2);
+        final AtomicInteger writes = new AtomicInteger();
+        for (String key : new String[]{"a", "b", "c", "a"}) {
+            idempotency.run(key, "POST /books", () -> "", () -> {
+                writes.incrementAndGet();
+                return Uni.createFrom().nothing();
+            }).subscribe().with(response -> { });
+        }
+        Assertions.assertEquals(3, writes.get());
+    }
+
+    @Test
+    public void earliestCompletedRequestsShouldBeEvictedPastMaxSize() {
+        final BookIdempotency idempotency = idempotency(2);
+        final AtomicInteger writes = new AtomicInteger();
+        for (String key : new String[]{"a", "b", "c", "b", "a"}) {
+            idempotency.run(key, "POST /books", () -> "", () -> {
+                writes.incrementAndGet();
+                return Uni.createFrom().item(Response.ok().build());
+            }).await().indefinitely();
+        }
+        Assertions.assertEquals(4, writes.get());
+    }
+
+    @Test
+    public void completedRequestsShouldBeReplayedUntilTheyExpire() {
+        final BookIdempotency idempotency = idempotency(2);
+        final AtomicInteger writes = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            idempotency.run("a", "POST /books", () -> "", () -> {
+                writes.incrementAndGet();
+                return Uni.createFrom().item(Response.ok().build());
+            }).await().indefinitely();
+        }
+        Assertions.assertEquals(1, writes.get());
+
+        idempotency.ttl = Duration.ofMillis(-1);
+        idempotency.run("a", "POST /books", () -> "", () -> {
+            writes.incrementAndGet();
+            return Uni.createFrom().item(Response.ok().build());
+        }).await().indefinitely();
+        Assertions.assertEquals(2, writes.get());
+    }
+
+    @Test
+    public void fingerprintShouldOnlyBeTakenWithAKey() {
+        final BookIdempotency idempotency = idempotency(2);
+        idempotency.run(null, "POST /books", () -> {
+            throw new AssertionError("fingerprint taken without a key");
+        }, () -> Uni.createFrom().item(Response.ok().build())).await().indefinitely();
+    }
+
+    private static BookIdempotency idempotency(final int maxSize) {
+        final BookIdempotency idempotency = new BookIdempotency();
+        idempotency.ttl = Duration.ofHours(1);
+        idempotency.maxSize = maxSize;
+        return idempotency;
+    }
+}
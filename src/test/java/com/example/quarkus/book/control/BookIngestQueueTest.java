@@ -0,0 +1,133 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.BlockingExecution;
+import com.example.quarkus.author.control.AuthorDirectory;
+import com.example.quarkus.author.entity.Author;
+import com.example.quarkus.book.entity.Book;
+import com.example.quarkus.book.entity.BookBatchResult;
+import com.example.quarkus.book.entity.BookIngestStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class BookIngestQueueTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void failedBatchesShouldBeRetriedAndKeptInTheJournal() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final BookIngestQueue queue = queue(new BookController() {
+            @Override
+            public List<BookBatchResult> createAll(final List<Book> books) {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("database down");
+                }
+                final List<BookBatchResult> results = new ArrayList<>();
+                for (int i = 0; i < books.size(); i++) {
+                    results.add(BookBatchResult.success(i, 42L, 201));
+                }
+                return results;
+            }
+        });
+        final Path journal = Path.of(queue.journalPath);
+
+        queue.onStart(null);
+        Assertions.assertFalse(Files.exists(journal));
+
+        final BookIngestStatus accepted = queue.submitAsync(book()).await().indefinitely();
+        Assertions.assertTrue(Files.size(journal) > 0);
+
+        BookIngestStatus status = accepted;
+        for (int i = 0; i < 100 && status.getState() == BookIngestStatus.State.QUEUED; i++) {
+            Thread.sleep(50);
+            status = queue.status(accepted.getTicket()).orElseThrow();
+        }
+        queue.onStop(null);
+
+        Assertions.assertEquals(BookIngestStatus.State.DONE, status.getState());
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void concurrentSubmissionsShouldShareJournalSyncs() throws Exception {
+        final BookIngestQueue queue = queue(new BookController() {
+            @Override
+            public List<BookBatchResult> createAll(final List<Book> books) {
+                final List<BookBatchResult> results = new ArrayList<>();
+                for (int i = 0; i < books.size(); i++) {
+                    results.add(BookBatchResult.success(i, 42L + i, 201));
+                }
+                return results;
+            }
+        });
+        queue.onStart(null);
+
+        final List<CompletableFuture<BookIngestStatus>> accepted = new ArrayList<>();
+        for (int i = 0; i < queue.queueSize; i++) {
+            accepted.add(queue.submitAsync(book()).subscribeAsCompletionStage());
+        }
+        for (CompletableFuture<BookIngestStatus> status : accepted) {
+            final String ticket = status.get(5, TimeUnit.SECONDS).getTicket();
+            for (int i = 0; i < 100 && queue.status(ticket).orElseThrow().getState() == BookIngestStatus.State.QUEUED; i++) {
+                Thread.sleep(50);
+            }
+            Assertions.assertEquals(BookIngestStatus.State.DONE, queue.status(ticket).orElseThrow().getState());
+        }
+        queue.onStop(null);
+
+        final long syncs = queue.registry.get("book.ingest").tag("operation", "sync").tag("outcome", "success").timer().count();
+        Assertions.assertTrue(syncs >= 1 && syncs <= queue.queueSize, "syncs: " + syncs);
+    }
+
+    private BookIngestQueue queue(final BookController controller) {
+        final BookIngestQueue queue = new BookIngestQueue();
+        queue.bookController = controller;
+        queue.authorDirectory = new AuthorDirectory() {
+            @Override
+            public Uni<Optional<Author>> findByNameAsync(final String name) {
+                final Author author = new Author();
+                author.setId(1L);
+                author.setName(name);
+                return Uni.createFrom().item(Optional.of(author));
+            }
+        };
+        queue.blockingExecution = new BlockingExecution() {
+            @Override
+            public <T> Uni<T> run(final Supplier<T> work) {
+                return Uni.createFrom().item(work);
+            }
+        };
+        queue.objectMapper = new ObjectMapper();
+        queue.registry = new SimpleMeterRegistry();
+        queue.queueSize = 10;
+        queue.batchSize = 10;
+        queue.maxDelayMillis = 1;
+        queue.statusTtl = Duration.ofMinutes(1);
+        queue.journalPath = directory.resolve("ingest/journal.ndjson").toString();
+        queue.init();
+        return queue;
+    }
+
+    private static Book book() {
+        final Book book = new Book();
+        book.setTitle("queued");
+        book.setAuthor("Ana");
+        return book;
+    }
+}
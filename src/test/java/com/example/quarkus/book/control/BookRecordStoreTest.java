@@ -0,0 +1,102 @@
+package com.example.quarkus.book.control;
+
+import com.example.quarkus.book.entity.Book;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+public class BookRecordStoreTest {
+
+    @Test
+    public void storeShouldAgreeWithAMapUnderRandomWrites() {
+        final BookRecordStore store = new BookRecordStore();
+        final TreeMap<Long, Book> expected = new TreeMap<>();
+        final Random random = new Random(7);
+        final Set<Long> removed = new HashSet<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            final long id = 1 + random.nextInt(20_000);
+            if (random.nextInt(4) == 0) {
+                Assertions.assertEquals(expected.remove(id) != null, store.remove(id));
+                removed.add(id);
+            } else {
+                final Book book = book(id, "título " + random.nextInt(1000), "author " + random.nextInt(50),
+                        expected.containsKey(id) ? expected.get(id).getVersion() + 1 : 0L);
+                Assertions.assertEquals(!removed.contains(id), store.put(book, false));
+                if (!removed.contains(id)) {
+                    expected.put(id, book);
+                }
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), store.size());
+        for (Map.Entry<Long, Book> entry : expected.entrySet()) {
+            assertSame(entry.getValue(), store.get(entry.getKey()));
+        }
+        final List<Book> all = new ArrayList<>();
+        for (List<Book> page = store.page(0, 1000); !page.isEmpty(); page = store.page(page.get(page.size() - 1).getId(), 1000)) {
+            all.addAll(page);
+        }
+        Assertions.assertEquals(new ArrayList<>(expected.keySet()), all.stream().map(Book::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void olderVersionsShouldNotReplaceNewerOnes() {
+        final BookRecordStore store = new BookRecordStore();
+        store.put(book(1, "new", "Ana", 2L), false);
+
+        Assertions.assertFalse(store.put(book(1, "old", "Ana", 1L), false));
+        Assertions.assertFalse(store.put(book(1, "loaded", "Ana", 3L), true));
+        Assertions.assertEquals("new", store.get(1).getTitle());
+    }
+
+    @Test
+    public void deletedBooksShouldOnlyComeBackThroughTheLoad() {
+        final BookRecordStore store = new BookRecordStore();
+        store.put(book(1, "deleted", "Ana", 0L), false);
+        store.remove(1);
+        store.remove(2);
+
+        Assertions.assertFalse(store.put(book(1, "late update", "Ana", 1L), false));
+        Assertions.assertFalse(store.put(book(2, "late create", "Ana", 0L), false));
+        Assertions.assertNull(store.get(1));
+        Assertions.assertNull(store.get(2));
+        Assertions.assertTrue(store.put(book(2, "loaded", "Ana", 0L), true));
+        Assertions.assertTrue(store.put(book(2, "updated", "Ana", 1L), false));
+    }
+
+    @Test
+    public void linkedAuthorsShouldApplyToUnlinkedBooks() {
+        final BookRecordStore store = new BookRecordStore();
+        final Book unlinked = book(1, "legacy", "Ana", 0L);
+        unlinked.setAuthorId(null);
+        store.linkAuthor("Ana", 5L);
+        store.put(unlinked, true);
+
+        Assertions.assertEquals(5L, store.get(1).getAuthorId());
+    }
+
+    private static void assertSame(final Book expected, final Book actual) {
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(expected.getVersion(), actual.getVersion());
+        Assertions.assertEquals(expected.getAuthorId(), actual.getAuthorId());
+    }
+
+    private static Book book(final long id, final String title, final String author, final Long version) {
+        final Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setAuthorId((long) author.hashCode());
+        book.setVersion(version);
+        return book;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.quarkus.book.control;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class LongHashSetTest {
+
+    @Test
+    public void setShouldAgreeWithAHashSetUnderRandomWrites() {
+        final LongHashSet set = new LongHashSet();
+        final Set<Long> expected = new HashSet<>();
+        final Random random = new Random(11);
+
+        for (int i = 0; i < 200_000; i++) {
+            final long value = random.nextInt(5_000) - 2_500L;
+            if (random.nextBoolean()) {
+                Assertions.assertEquals(expected.add(value), set.add(value));
+            } else {
+                Assertions.assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), set.size());
+        for (long value = -2_500; value < 2_500; value++) {
+            Assertions.assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.quarkus.book.entity;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+public class SnowflakeIdGeneratorTest {
+
+    @Test
+    public void idsShouldIncreaseAndCarryTheNodeId() {
+        final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42);
+        final long before = System.currentTimeMillis();
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            final long next = generator.nextId();
+            Assertions.assertTrue(next > previous);
+            previous = next;
+        }
+
+        Assertions.assertEquals(42, SnowflakeIdGenerator.nodeId(previous));
+        Assertions.assertTrue(SnowflakeIdGenerator.timestamp(previous) >= before);
+    }
+
+    @Test
+    public void idsShouldBeUniqueAcrossThreads() {
+        final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 200_000).parallel().forEach(it -> ids.add(generator.nextId()));
+
+        Assertions.assertEquals(200_000, ids.size());
+    }
+
+    @Test
+    public void nodeIdShouldBeBounded() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+    }
+}